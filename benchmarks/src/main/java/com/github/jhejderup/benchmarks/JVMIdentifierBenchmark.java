@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.benchmarks;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifier lookups as done while building and searching the call graph.
+ * <p>
+ * The `legacy` benchmarks use a copy of the former identifier, which hashed
+ * and compared its `String.format` rendering; the GC profiler of {@link
+ * BenchmarkMain} compares the allocations per lookup. Both build their
+ * identifier from the method reference on every lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JVMIdentifierBenchmark {
+
+  @Param({ "10000" })
+  public int methods;
+
+  private MethodReference[]              refs;
+  private Map<JVMIdentifier, Integer>    ids;
+  private Map<LegacyIdentifier, Integer> legacyIds;
+  private int                            next;
+
+  @Setup
+  public void setup() {
+    this.refs = new MethodReference[methods];
+    this.ids = new HashMap<>();
+    this.legacyIds = new HashMap<>();
+    for (int i = 0; i < methods; i++) {
+      refs[i] = MethodReference.findOrCreate(ClassLoaderReference.Extension,
+          "Lorg/example/pkg" + (i % 97) + "/Clazz" + (i % 1013),
+          "method" + i, "(Ljava/lang/String;I)Ljava/util/List;");
+      ids.put(identifier(refs[i]), i);
+      legacyIds.put(LegacyIdentifier.of(refs[i]), i);
+    }
+  }
+
+  private static JVMIdentifier identifier(MethodReference ref) {
+    return JVMIdentifier.of(ref.getDeclaringClass().getName().toString(),
+        ref.getName().toString(), ref.getDescriptor().toString());
+  }
+
+  private MethodReference nextRef() {
+    var ref = refs[next];
+    next = (next + 1) % refs.length;
+    return ref;
+  }
+
+  @Benchmark
+  public Integer lookup() {
+    return ids.get(identifier(nextRef()));
+  }
+
+  @Benchmark
+  public Integer lookupLegacy() {
+    return legacyIds.get(LegacyIdentifier.of(nextRef()));
+  }
+
+  /**
+   * The identifier as it was before it became canonical.
+   */
+  static final class LegacyIdentifier {
+    final String clazzName;
+    final String methodName;
+    final String methodDesc;
+
+    LegacyIdentifier(String clazzName, String methodName, String methodDesc) {
+      this.clazzName = clazzName;
+      this.methodName = methodName.replace("<", "&lt;").replace(">", "&gt;");
+      this.methodDesc = methodDesc;
+    }
+
+    static LegacyIdentifier of(MethodReference ref) {
+      return new LegacyIdentifier(ref.getDeclaringClass().getName().toString(),
+          ref.getName().toString(), ref.getDescriptor().toString());
+    }
+
+    @Override
+    public String toString() {
+      return String
+          .format("%s/%s%s", this.clazzName, this.methodName, this.methodDesc);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(this.toString());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null)
+        return false;
+      if (getClass() != obj.getClass())
+        return false;
+      LegacyIdentifier id = (LegacyIdentifier) obj;
+      return Objects.equals(this.toString(), id.toString());
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.benchmarks;
+
+import com.github.jhejderup.callgraph.ResolvedCall;
+import com.github.jhejderup.callgraph.WalaCallgraphConstructor;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the calls of a WALA call graph, with uppdatera's own classes as
+ * the project and JMH as the dependency. WALA 1.5 reads the JDK from
+ * `rt.jar`, so run this one on JDK 8.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class MakeCHABenchmark {
+
+  private CallGraph cg;
+
+  @Setup
+  public void setup() throws Exception {
+    this.cg = WalaCallgraphConstructor
+        .makeCallGraph(location(WalaCallgraphConstructor.class),
+            location(Benchmark.class));
+  }
+
+  private static String location(Class<?> clazz) throws Exception {
+    return Paths
+        .get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI())
+        .toString();
+  }
+
+  @Benchmark
+  public List<ResolvedCall> makeCHA() {
+    return WalaCallgraphConstructor.makeCHA(cg);
+  }
+}
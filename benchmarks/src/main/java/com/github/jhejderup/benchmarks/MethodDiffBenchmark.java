@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.benchmarks;
+
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.ast.AstComperator;
+import com.github.jhejderup.diff.ast.MethodDiff;
+import com.github.jhejderup.diff.file.FileDiff;
+import gumtree.spoon.diff.Diff;
+import gumtree.spoon.diff.operations.Operation;
+import org.openjdk.jmh.annotations.*;
+import spoon.reflect.declaration.CtType;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edit scripts of a checked-in pair of source files and the changed methods
+ * derived from them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodDiffBenchmark {
+
+  @Param({ "small", "medium", "large" })
+  public String size;
+
+  private CtType<?> left;
+  private CtType<?> right;
+  private Diff      editScript;
+  private FileDiff  fileDiff;
+
+  private AstComperator comperator;
+
+  @Setup
+  public void setup() {
+    this.comperator = new AstComperator();
+    this.left = comperator.getCtType(Fixtures.read(size, "old"));
+    this.right = comperator.getCtType(Fixtures.read(size, "new"));
+    this.editScript = comperator.compare(left, right);
+    this.fileDiff = new FileDiff(
+        Optional.of(Paths.get("old/org/example/fixture/Example.java")),
+        Optional.of(Paths.get("new/org/example/fixture/Example.java")),
+        FileDiff.Change.MODIFICATION);
+  }
+
+  @Benchmark
+  public Diff compare() {
+    return comperator.compare(left, right);
+  }
+
+  @Benchmark
+  public Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> getChangedMethods() {
+    return new MethodDiff(editScript, fileDiff).getChangedMethods();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.benchmarks;
+
+import com.github.jhejderup.analysis.Reachability;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the compact call graph and searching project callers of changed
+ * dependency methods, on synthetic graphs (see {@link SyntheticCallGraph}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ReachabilityBenchmark {
+
+  @Param({ "10000", "100000", "1000000" })
+  public int edges;
+
+  @Param({ "1000" })
+  public int changed;
+
+  private SyntheticCallGraph  graph;
+  private Reachability        reachability;
+  private List<JVMIdentifier> targets;
+  private int                 next;
+
+  @Setup
+  public void setup() {
+    this.graph = SyntheticCallGraph.generate(edges, 42);
+    this.reachability = new Reachability(graph.calls);
+    this.targets = graph.deepest
+        .subList(0, Math.min(changed, graph.deepest.size()));
+  }
+
+  @Benchmark
+  public Reachability build() {
+    return new Reachability(graph.calls);
+  }
+
+  @Benchmark
+  public List<JVMIdentifier> search() {
+    var target = targets.get(next);
+    next = (next + 1) % targets.size();
+    return reachability.search(target);
+  }
+
+  /**
+   * searches on a graph that hasn't run its shared traversal yet, so each
+   * call times the traversal and not only the cached next hops
+   */
+  @Benchmark
+  public Map<JVMIdentifier, List<JVMIdentifier>> searchAll(Fresh fresh) {
+    return fresh.reachability.searchAll(targets);
+  }
+
+  @State(Scope.Thread)
+  public static class Fresh {
+    private Reachability reachability;
+
+    @Setup(Level.Invocation)
+    public void setup(ReachabilityBenchmark benchmark) {
+      this.reachability = new Reachability(benchmark.graph.calls);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.benchmarks;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.ast.AstComperator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import spoon.reflect.declaration.CtExecutable;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifiers of all executables of the large fixture, computed from the
+ * Spoon model (`cold`, with the cached identifier dropped first) and read
+ * back from the element (`cached`).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpoonToJVMStringBenchmark {
+
+  private List<CtExecutable<?>> executables;
+
+  @Setup
+  public void setup() {
+    var type = new AstComperator().getCtType(Fixtures.read("large", "old"));
+    this.executables = type.getElements(new TypeFilter<>(CtExecutable.class));
+  }
+
+  @Benchmark
+  public void cold(Blackhole bh) {
+    for (var executable : executables) {
+      executable.setAllMetadata(Collections.emptyMap());
+      bh.consume(JVMIdentifier.SpoonToJVMString(executable));
+    }
+  }
+
+  @Benchmark
+  public void cached(Blackhole bh) {
+    for (var executable : executables) {
+      bh.consume(JVMIdentifier.SpoonToJVMString(executable));
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.benchmarks;
+
+import com.github.jhejderup.analysis.Reachability;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.ResolvedCall;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible call graph of a project calling into a layered dependency:
+ * a fifth of the edges go from project to dependency methods, the rest from
+ * dependency methods to methods of deeper layers.
+ */
+final class SyntheticCallGraph {
+
+  private static final int LAYERS = 10;
+
+  final List<ResolvedCall>  calls;
+  final List<JVMIdentifier> deepest;
+
+  private SyntheticCallGraph(List<ResolvedCall> calls,
+      List<JVMIdentifier> deepest) {
+    this.calls = calls;
+    this.deepest = deepest;
+  }
+
+  static SyntheticCallGraph generate(int edges, long seed) {
+    var random = new Random(seed);
+    var app = methods(ClassLoaderReference.Application, "Lcom/example/app",
+        Math.max(1, edges / 40));
+    var perLayer = Math.max(1, edges / 8 / LAYERS);
+    var dep = methods(ClassLoaderReference.Extension, "Lorg/example/dep",
+        perLayer * LAYERS);
+
+    var calls = new ArrayList<ResolvedCall>(edges);
+    for (int i = 0; i < edges; i++) {
+      if (random.nextInt(5) == 0) {
+        calls.add(new ResolvedCall(app[random.nextInt(app.length)],
+            dep[random.nextInt(dep.length)]));
+      } else {
+        var layer = random.nextInt(LAYERS - 1);
+        var caller = layer * perLayer + random.nextInt(perLayer);
+        var deeper = layer + 1 + random.nextInt(LAYERS - 1 - layer);
+        var callee = deeper * perLayer + random.nextInt(perLayer);
+        calls.add(new ResolvedCall(dep[caller], dep[callee]));
+      }
+    }
+
+    var deepest = new ArrayList<JVMIdentifier>();
+    for (int i = (LAYERS - 1) * perLayer; i < dep.length; i++) {
+      deepest.add(Reachability.WALAToJVMIdentifier(dep[i]));
+    }
+    return new SyntheticCallGraph(calls, deepest);
+  }
+
+  private static MethodReference[] methods(ClassLoaderReference loader,
+      String pkg, int count) {
+    var methods = new MethodReference[count];
+    for (int i = 0; i < count; i++) {
+      methods[i] = MethodReference
+          .findOrCreate(loader, pkg + (i % 31) + "/Clazz" + (i / 16),
+              "method" + i, "(Ljava/lang/String;)V");
+    }
+    return methods;
+  }
+}
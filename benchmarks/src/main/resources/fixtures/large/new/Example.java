@@ -0,0 +1,3095 @@
+package org.example.fixture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark fixture: every fifth method changes and every tenth method is
+ * removed in the new version, which also adds a method.
+ */
+public class Example {
+
+  private final Map<String, Integer> cache = new HashMap<>();
+  private final List<String>         log   = new ArrayList<>();
+
+  public int compute0(String key, List<Integer> values) {
+    int total = 0;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "0", total);
+    return total;
+  }
+
+  public int compute1(String key, List<Integer> values) {
+    int total = 1;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 107) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "1", total);
+    return total;
+  }
+
+  public int compute2(String key, List<Integer> values) {
+    int total = 2;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "2", total);
+    return total;
+  }
+
+  public int compute4(String key, List<Integer> values) {
+    int total = 4;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "4", total);
+    return total;
+  }
+
+  public int compute5(String key, List<Integer> values) {
+    int total = 5;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "5", total);
+    return total;
+  }
+
+  public int compute6(String key, List<Integer> values) {
+    int total = 6;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 142) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "6", total);
+    return total;
+  }
+
+  public int compute7(String key, List<Integer> values) {
+    int total = 7;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "7", total);
+    return total;
+  }
+
+  public int compute8(String key, List<Integer> values) {
+    int total = 8;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "8", total);
+    return total;
+  }
+
+  public int compute9(String key, List<Integer> values) {
+    int total = 9;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "9", total);
+    return total;
+  }
+
+  public int compute10(String key, List<Integer> values) {
+    int total = 10;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "10", total);
+    return total;
+  }
+
+  public int compute11(String key, List<Integer> values) {
+    int total = 11;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 177) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "11", total);
+    return total;
+  }
+
+  public int compute12(String key, List<Integer> values) {
+    int total = 12;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "12", total);
+    return total;
+  }
+
+  public int compute14(String key, List<Integer> values) {
+    int total = 14;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "14", total);
+    return total;
+  }
+
+  public int compute15(String key, List<Integer> values) {
+    int total = 15;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "15", total);
+    return total;
+  }
+
+  public int compute16(String key, List<Integer> values) {
+    int total = 16;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 212) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "16", total);
+    return total;
+  }
+
+  public int compute17(String key, List<Integer> values) {
+    int total = 17;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "17", total);
+    return total;
+  }
+
+  public int compute18(String key, List<Integer> values) {
+    int total = 18;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "18", total);
+    return total;
+  }
+
+  public int compute19(String key, List<Integer> values) {
+    int total = 19;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "19", total);
+    return total;
+  }
+
+  public int compute20(String key, List<Integer> values) {
+    int total = 20;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "20", total);
+    return total;
+  }
+
+  public int compute21(String key, List<Integer> values) {
+    int total = 21;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 247) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "21", total);
+    return total;
+  }
+
+  public int compute22(String key, List<Integer> values) {
+    int total = 22;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "22", total);
+    return total;
+  }
+
+  public int compute24(String key, List<Integer> values) {
+    int total = 24;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "24", total);
+    return total;
+  }
+
+  public int compute25(String key, List<Integer> values) {
+    int total = 25;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "25", total);
+    return total;
+  }
+
+  public int compute26(String key, List<Integer> values) {
+    int total = 26;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 282) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "26", total);
+    return total;
+  }
+
+  public int compute27(String key, List<Integer> values) {
+    int total = 27;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "27", total);
+    return total;
+  }
+
+  public int compute28(String key, List<Integer> values) {
+    int total = 28;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "28", total);
+    return total;
+  }
+
+  public int compute29(String key, List<Integer> values) {
+    int total = 29;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "29", total);
+    return total;
+  }
+
+  public int compute30(String key, List<Integer> values) {
+    int total = 30;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "30", total);
+    return total;
+  }
+
+  public int compute31(String key, List<Integer> values) {
+    int total = 31;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 317) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "31", total);
+    return total;
+  }
+
+  public int compute32(String key, List<Integer> values) {
+    int total = 32;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "32", total);
+    return total;
+  }
+
+  public int compute34(String key, List<Integer> values) {
+    int total = 34;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "34", total);
+    return total;
+  }
+
+  public int compute35(String key, List<Integer> values) {
+    int total = 35;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "35", total);
+    return total;
+  }
+
+  public int compute36(String key, List<Integer> values) {
+    int total = 36;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 352) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "36", total);
+    return total;
+  }
+
+  public int compute37(String key, List<Integer> values) {
+    int total = 37;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "37", total);
+    return total;
+  }
+
+  public int compute38(String key, List<Integer> values) {
+    int total = 38;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "38", total);
+    return total;
+  }
+
+  public int compute39(String key, List<Integer> values) {
+    int total = 39;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "39", total);
+    return total;
+  }
+
+  public int compute40(String key, List<Integer> values) {
+    int total = 40;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "40", total);
+    return total;
+  }
+
+  public int compute41(String key, List<Integer> values) {
+    int total = 41;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 387) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "41", total);
+    return total;
+  }
+
+  public int compute42(String key, List<Integer> values) {
+    int total = 42;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "42", total);
+    return total;
+  }
+
+  public int compute44(String key, List<Integer> values) {
+    int total = 44;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "44", total);
+    return total;
+  }
+
+  public int compute45(String key, List<Integer> values) {
+    int total = 45;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "45", total);
+    return total;
+  }
+
+  public int compute46(String key, List<Integer> values) {
+    int total = 46;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 422) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "46", total);
+    return total;
+  }
+
+  public int compute47(String key, List<Integer> values) {
+    int total = 47;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "47", total);
+    return total;
+  }
+
+  public int compute48(String key, List<Integer> values) {
+    int total = 48;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "48", total);
+    return total;
+  }
+
+  public int compute49(String key, List<Integer> values) {
+    int total = 49;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "49", total);
+    return total;
+  }
+
+  public int compute50(String key, List<Integer> values) {
+    int total = 50;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "50", total);
+    return total;
+  }
+
+  public int compute51(String key, List<Integer> values) {
+    int total = 51;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 457) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "51", total);
+    return total;
+  }
+
+  public int compute52(String key, List<Integer> values) {
+    int total = 52;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "52", total);
+    return total;
+  }
+
+  public int compute54(String key, List<Integer> values) {
+    int total = 54;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "54", total);
+    return total;
+  }
+
+  public int compute55(String key, List<Integer> values) {
+    int total = 55;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "55", total);
+    return total;
+  }
+
+  public int compute56(String key, List<Integer> values) {
+    int total = 56;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 492) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "56", total);
+    return total;
+  }
+
+  public int compute57(String key, List<Integer> values) {
+    int total = 57;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "57", total);
+    return total;
+  }
+
+  public int compute58(String key, List<Integer> values) {
+    int total = 58;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "58", total);
+    return total;
+  }
+
+  public int compute59(String key, List<Integer> values) {
+    int total = 59;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "59", total);
+    return total;
+  }
+
+  public int compute60(String key, List<Integer> values) {
+    int total = 60;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "60", total);
+    return total;
+  }
+
+  public int compute61(String key, List<Integer> values) {
+    int total = 61;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 527) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "61", total);
+    return total;
+  }
+
+  public int compute62(String key, List<Integer> values) {
+    int total = 62;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "62", total);
+    return total;
+  }
+
+  public int compute64(String key, List<Integer> values) {
+    int total = 64;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "64", total);
+    return total;
+  }
+
+  public int compute65(String key, List<Integer> values) {
+    int total = 65;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "65", total);
+    return total;
+  }
+
+  public int compute66(String key, List<Integer> values) {
+    int total = 66;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 562) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "66", total);
+    return total;
+  }
+
+  public int compute67(String key, List<Integer> values) {
+    int total = 67;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "67", total);
+    return total;
+  }
+
+  public int compute68(String key, List<Integer> values) {
+    int total = 68;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "68", total);
+    return total;
+  }
+
+  public int compute69(String key, List<Integer> values) {
+    int total = 69;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "69", total);
+    return total;
+  }
+
+  public int compute70(String key, List<Integer> values) {
+    int total = 70;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "70", total);
+    return total;
+  }
+
+  public int compute71(String key, List<Integer> values) {
+    int total = 71;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 597) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "71", total);
+    return total;
+  }
+
+  public int compute72(String key, List<Integer> values) {
+    int total = 72;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "72", total);
+    return total;
+  }
+
+  public int compute74(String key, List<Integer> values) {
+    int total = 74;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "74", total);
+    return total;
+  }
+
+  public int compute75(String key, List<Integer> values) {
+    int total = 75;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "75", total);
+    return total;
+  }
+
+  public int compute76(String key, List<Integer> values) {
+    int total = 76;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 632) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "76", total);
+    return total;
+  }
+
+  public int compute77(String key, List<Integer> values) {
+    int total = 77;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "77", total);
+    return total;
+  }
+
+  public int compute78(String key, List<Integer> values) {
+    int total = 78;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "78", total);
+    return total;
+  }
+
+  public int compute79(String key, List<Integer> values) {
+    int total = 79;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "79", total);
+    return total;
+  }
+
+  public int compute80(String key, List<Integer> values) {
+    int total = 80;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "80", total);
+    return total;
+  }
+
+  public int compute81(String key, List<Integer> values) {
+    int total = 81;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 667) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "81", total);
+    return total;
+  }
+
+  public int compute82(String key, List<Integer> values) {
+    int total = 82;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "82", total);
+    return total;
+  }
+
+  public int compute84(String key, List<Integer> values) {
+    int total = 84;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "84", total);
+    return total;
+  }
+
+  public int compute85(String key, List<Integer> values) {
+    int total = 85;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "85", total);
+    return total;
+  }
+
+  public int compute86(String key, List<Integer> values) {
+    int total = 86;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 702) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "86", total);
+    return total;
+  }
+
+  public int compute87(String key, List<Integer> values) {
+    int total = 87;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "87", total);
+    return total;
+  }
+
+  public int compute88(String key, List<Integer> values) {
+    int total = 88;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "88", total);
+    return total;
+  }
+
+  public int compute89(String key, List<Integer> values) {
+    int total = 89;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "89", total);
+    return total;
+  }
+
+  public int compute90(String key, List<Integer> values) {
+    int total = 90;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "90", total);
+    return total;
+  }
+
+  public int compute91(String key, List<Integer> values) {
+    int total = 91;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 737) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "91", total);
+    return total;
+  }
+
+  public int compute92(String key, List<Integer> values) {
+    int total = 92;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "92", total);
+    return total;
+  }
+
+  public int compute94(String key, List<Integer> values) {
+    int total = 94;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "94", total);
+    return total;
+  }
+
+  public int compute95(String key, List<Integer> values) {
+    int total = 95;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "95", total);
+    return total;
+  }
+
+  public int compute96(String key, List<Integer> values) {
+    int total = 96;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 772) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "96", total);
+    return total;
+  }
+
+  public int compute97(String key, List<Integer> values) {
+    int total = 97;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "97", total);
+    return total;
+  }
+
+  public int compute98(String key, List<Integer> values) {
+    int total = 98;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "98", total);
+    return total;
+  }
+
+  public int compute99(String key, List<Integer> values) {
+    int total = 99;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "99", total);
+    return total;
+  }
+
+  public int compute100(String key, List<Integer> values) {
+    int total = 100;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "100", total);
+    return total;
+  }
+
+  public int compute101(String key, List<Integer> values) {
+    int total = 101;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 807) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "101", total);
+    return total;
+  }
+
+  public int compute102(String key, List<Integer> values) {
+    int total = 102;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "102", total);
+    return total;
+  }
+
+  public int compute104(String key, List<Integer> values) {
+    int total = 104;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "104", total);
+    return total;
+  }
+
+  public int compute105(String key, List<Integer> values) {
+    int total = 105;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "105", total);
+    return total;
+  }
+
+  public int compute106(String key, List<Integer> values) {
+    int total = 106;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 842) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "106", total);
+    return total;
+  }
+
+  public int compute107(String key, List<Integer> values) {
+    int total = 107;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "107", total);
+    return total;
+  }
+
+  public int compute108(String key, List<Integer> values) {
+    int total = 108;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "108", total);
+    return total;
+  }
+
+  public int compute109(String key, List<Integer> values) {
+    int total = 109;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "109", total);
+    return total;
+  }
+
+  public int compute110(String key, List<Integer> values) {
+    int total = 110;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "110", total);
+    return total;
+  }
+
+  public int compute111(String key, List<Integer> values) {
+    int total = 111;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 877) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "111", total);
+    return total;
+  }
+
+  public int compute112(String key, List<Integer> values) {
+    int total = 112;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "112", total);
+    return total;
+  }
+
+  public int compute114(String key, List<Integer> values) {
+    int total = 114;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "114", total);
+    return total;
+  }
+
+  public int compute115(String key, List<Integer> values) {
+    int total = 115;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "115", total);
+    return total;
+  }
+
+  public int compute116(String key, List<Integer> values) {
+    int total = 116;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 912) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "116", total);
+    return total;
+  }
+
+  public int compute117(String key, List<Integer> values) {
+    int total = 117;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "117", total);
+    return total;
+  }
+
+  public int compute118(String key, List<Integer> values) {
+    int total = 118;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "118", total);
+    return total;
+  }
+
+  public int compute119(String key, List<Integer> values) {
+    int total = 119;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "119", total);
+    return total;
+  }
+
+  public int compute120(String key, List<Integer> values) {
+    int total = 120;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "120", total);
+    return total;
+  }
+
+  public int compute121(String key, List<Integer> values) {
+    int total = 121;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 947) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "121", total);
+    return total;
+  }
+
+  public int compute122(String key, List<Integer> values) {
+    int total = 122;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "122", total);
+    return total;
+  }
+
+  public int compute124(String key, List<Integer> values) {
+    int total = 124;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "124", total);
+    return total;
+  }
+
+  public int compute125(String key, List<Integer> values) {
+    int total = 125;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "125", total);
+    return total;
+  }
+
+  public int compute126(String key, List<Integer> values) {
+    int total = 126;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 982) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "126", total);
+    return total;
+  }
+
+  public int compute127(String key, List<Integer> values) {
+    int total = 127;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "127", total);
+    return total;
+  }
+
+  public int compute128(String key, List<Integer> values) {
+    int total = 128;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "128", total);
+    return total;
+  }
+
+  public int compute129(String key, List<Integer> values) {
+    int total = 129;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "129", total);
+    return total;
+  }
+
+  public int compute130(String key, List<Integer> values) {
+    int total = 130;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "130", total);
+    return total;
+  }
+
+  public int compute131(String key, List<Integer> values) {
+    int total = 131;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1017) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "131", total);
+    return total;
+  }
+
+  public int compute132(String key, List<Integer> values) {
+    int total = 132;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "132", total);
+    return total;
+  }
+
+  public int compute134(String key, List<Integer> values) {
+    int total = 134;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "134", total);
+    return total;
+  }
+
+  public int compute135(String key, List<Integer> values) {
+    int total = 135;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "135", total);
+    return total;
+  }
+
+  public int compute136(String key, List<Integer> values) {
+    int total = 136;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1052) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "136", total);
+    return total;
+  }
+
+  public int compute137(String key, List<Integer> values) {
+    int total = 137;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "137", total);
+    return total;
+  }
+
+  public int compute138(String key, List<Integer> values) {
+    int total = 138;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "138", total);
+    return total;
+  }
+
+  public int compute139(String key, List<Integer> values) {
+    int total = 139;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "139", total);
+    return total;
+  }
+
+  public int compute140(String key, List<Integer> values) {
+    int total = 140;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "140", total);
+    return total;
+  }
+
+  public int compute141(String key, List<Integer> values) {
+    int total = 141;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1087) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "141", total);
+    return total;
+  }
+
+  public int compute142(String key, List<Integer> values) {
+    int total = 142;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "142", total);
+    return total;
+  }
+
+  public int compute144(String key, List<Integer> values) {
+    int total = 144;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "144", total);
+    return total;
+  }
+
+  public int compute145(String key, List<Integer> values) {
+    int total = 145;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "145", total);
+    return total;
+  }
+
+  public int compute146(String key, List<Integer> values) {
+    int total = 146;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1122) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "146", total);
+    return total;
+  }
+
+  public int compute147(String key, List<Integer> values) {
+    int total = 147;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "147", total);
+    return total;
+  }
+
+  public int compute148(String key, List<Integer> values) {
+    int total = 148;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "148", total);
+    return total;
+  }
+
+  public int compute149(String key, List<Integer> values) {
+    int total = 149;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "149", total);
+    return total;
+  }
+
+  public int compute150(String key, List<Integer> values) {
+    int total = 150;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "150", total);
+    return total;
+  }
+
+  public int compute151(String key, List<Integer> values) {
+    int total = 151;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1157) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "151", total);
+    return total;
+  }
+
+  public int compute152(String key, List<Integer> values) {
+    int total = 152;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "152", total);
+    return total;
+  }
+
+  public int compute154(String key, List<Integer> values) {
+    int total = 154;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "154", total);
+    return total;
+  }
+
+  public int compute155(String key, List<Integer> values) {
+    int total = 155;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "155", total);
+    return total;
+  }
+
+  public int compute156(String key, List<Integer> values) {
+    int total = 156;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1192) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "156", total);
+    return total;
+  }
+
+  public int compute157(String key, List<Integer> values) {
+    int total = 157;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "157", total);
+    return total;
+  }
+
+  public int compute158(String key, List<Integer> values) {
+    int total = 158;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "158", total);
+    return total;
+  }
+
+  public int compute159(String key, List<Integer> values) {
+    int total = 159;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "159", total);
+    return total;
+  }
+
+  public int compute160(String key, List<Integer> values) {
+    int total = 160;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "160", total);
+    return total;
+  }
+
+  public int compute161(String key, List<Integer> values) {
+    int total = 161;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1227) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "161", total);
+    return total;
+  }
+
+  public int compute162(String key, List<Integer> values) {
+    int total = 162;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "162", total);
+    return total;
+  }
+
+  public int compute164(String key, List<Integer> values) {
+    int total = 164;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "164", total);
+    return total;
+  }
+
+  public int compute165(String key, List<Integer> values) {
+    int total = 165;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "165", total);
+    return total;
+  }
+
+  public int compute166(String key, List<Integer> values) {
+    int total = 166;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1262) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "166", total);
+    return total;
+  }
+
+  public int compute167(String key, List<Integer> values) {
+    int total = 167;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "167", total);
+    return total;
+  }
+
+  public int compute168(String key, List<Integer> values) {
+    int total = 168;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "168", total);
+    return total;
+  }
+
+  public int compute169(String key, List<Integer> values) {
+    int total = 169;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "169", total);
+    return total;
+  }
+
+  public int compute170(String key, List<Integer> values) {
+    int total = 170;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "170", total);
+    return total;
+  }
+
+  public int compute171(String key, List<Integer> values) {
+    int total = 171;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1297) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "171", total);
+    return total;
+  }
+
+  public int compute172(String key, List<Integer> values) {
+    int total = 172;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "172", total);
+    return total;
+  }
+
+  public int compute174(String key, List<Integer> values) {
+    int total = 174;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "174", total);
+    return total;
+  }
+
+  public int compute175(String key, List<Integer> values) {
+    int total = 175;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "175", total);
+    return total;
+  }
+
+  public int compute176(String key, List<Integer> values) {
+    int total = 176;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1332) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "176", total);
+    return total;
+  }
+
+  public int compute177(String key, List<Integer> values) {
+    int total = 177;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "177", total);
+    return total;
+  }
+
+  public int compute178(String key, List<Integer> values) {
+    int total = 178;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "178", total);
+    return total;
+  }
+
+  public int compute179(String key, List<Integer> values) {
+    int total = 179;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "179", total);
+    return total;
+  }
+
+  public int compute180(String key, List<Integer> values) {
+    int total = 180;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "180", total);
+    return total;
+  }
+
+  public int compute181(String key, List<Integer> values) {
+    int total = 181;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1367) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "181", total);
+    return total;
+  }
+
+  public int compute182(String key, List<Integer> values) {
+    int total = 182;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "182", total);
+    return total;
+  }
+
+  public int compute184(String key, List<Integer> values) {
+    int total = 184;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "184", total);
+    return total;
+  }
+
+  public int compute185(String key, List<Integer> values) {
+    int total = 185;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "185", total);
+    return total;
+  }
+
+  public int compute186(String key, List<Integer> values) {
+    int total = 186;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1402) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "186", total);
+    return total;
+  }
+
+  public int compute187(String key, List<Integer> values) {
+    int total = 187;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "187", total);
+    return total;
+  }
+
+  public int compute188(String key, List<Integer> values) {
+    int total = 188;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "188", total);
+    return total;
+  }
+
+  public int compute189(String key, List<Integer> values) {
+    int total = 189;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "189", total);
+    return total;
+  }
+
+  public int compute190(String key, List<Integer> values) {
+    int total = 190;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "190", total);
+    return total;
+  }
+
+  public int compute191(String key, List<Integer> values) {
+    int total = 191;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1437) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "191", total);
+    return total;
+  }
+
+  public int compute192(String key, List<Integer> values) {
+    int total = 192;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "192", total);
+    return total;
+  }
+
+  public int compute194(String key, List<Integer> values) {
+    int total = 194;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "194", total);
+    return total;
+  }
+
+  public int compute195(String key, List<Integer> values) {
+    int total = 195;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "195", total);
+    return total;
+  }
+
+  public int compute196(String key, List<Integer> values) {
+    int total = 196;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1472) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "196", total);
+    return total;
+  }
+
+  public int compute197(String key, List<Integer> values) {
+    int total = 197;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "197", total);
+    return total;
+  }
+
+  public int compute198(String key, List<Integer> values) {
+    int total = 198;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "198", total);
+    return total;
+  }
+
+  public int compute199(String key, List<Integer> values) {
+    int total = 199;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "199", total);
+    return total;
+  }
+
+  public int compute200(String key, List<Integer> values) {
+    int total = 200;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "200", total);
+    return total;
+  }
+
+  public int compute201(String key, List<Integer> values) {
+    int total = 201;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1507) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "201", total);
+    return total;
+  }
+
+  public int compute202(String key, List<Integer> values) {
+    int total = 202;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "202", total);
+    return total;
+  }
+
+  public int compute204(String key, List<Integer> values) {
+    int total = 204;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "204", total);
+    return total;
+  }
+
+  public int compute205(String key, List<Integer> values) {
+    int total = 205;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "205", total);
+    return total;
+  }
+
+  public int compute206(String key, List<Integer> values) {
+    int total = 206;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1542) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "206", total);
+    return total;
+  }
+
+  public int compute207(String key, List<Integer> values) {
+    int total = 207;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "207", total);
+    return total;
+  }
+
+  public int compute208(String key, List<Integer> values) {
+    int total = 208;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "208", total);
+    return total;
+  }
+
+  public int compute209(String key, List<Integer> values) {
+    int total = 209;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "209", total);
+    return total;
+  }
+
+  public int compute210(String key, List<Integer> values) {
+    int total = 210;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "210", total);
+    return total;
+  }
+
+  public int compute211(String key, List<Integer> values) {
+    int total = 211;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1577) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "211", total);
+    return total;
+  }
+
+  public int compute212(String key, List<Integer> values) {
+    int total = 212;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "212", total);
+    return total;
+  }
+
+  public int compute214(String key, List<Integer> values) {
+    int total = 214;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "214", total);
+    return total;
+  }
+
+  public int compute215(String key, List<Integer> values) {
+    int total = 215;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "215", total);
+    return total;
+  }
+
+  public int compute216(String key, List<Integer> values) {
+    int total = 216;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1612) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "216", total);
+    return total;
+  }
+
+  public int compute217(String key, List<Integer> values) {
+    int total = 217;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "217", total);
+    return total;
+  }
+
+  public int compute218(String key, List<Integer> values) {
+    int total = 218;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "218", total);
+    return total;
+  }
+
+  public int compute219(String key, List<Integer> values) {
+    int total = 219;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "219", total);
+    return total;
+  }
+
+  public int compute220(String key, List<Integer> values) {
+    int total = 220;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "220", total);
+    return total;
+  }
+
+  public int compute221(String key, List<Integer> values) {
+    int total = 221;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1647) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "221", total);
+    return total;
+  }
+
+  public int compute222(String key, List<Integer> values) {
+    int total = 222;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "222", total);
+    return total;
+  }
+
+  public int compute224(String key, List<Integer> values) {
+    int total = 224;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "224", total);
+    return total;
+  }
+
+  public int compute225(String key, List<Integer> values) {
+    int total = 225;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "225", total);
+    return total;
+  }
+
+  public int compute226(String key, List<Integer> values) {
+    int total = 226;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1682) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "226", total);
+    return total;
+  }
+
+  public int compute227(String key, List<Integer> values) {
+    int total = 227;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "227", total);
+    return total;
+  }
+
+  public int compute228(String key, List<Integer> values) {
+    int total = 228;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "228", total);
+    return total;
+  }
+
+  public int compute229(String key, List<Integer> values) {
+    int total = 229;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "229", total);
+    return total;
+  }
+
+  public int compute230(String key, List<Integer> values) {
+    int total = 230;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "230", total);
+    return total;
+  }
+
+  public int compute231(String key, List<Integer> values) {
+    int total = 231;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1717) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "231", total);
+    return total;
+  }
+
+  public int compute232(String key, List<Integer> values) {
+    int total = 232;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "232", total);
+    return total;
+  }
+
+  public int compute234(String key, List<Integer> values) {
+    int total = 234;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "234", total);
+    return total;
+  }
+
+  public int compute235(String key, List<Integer> values) {
+    int total = 235;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "235", total);
+    return total;
+  }
+
+  public int compute236(String key, List<Integer> values) {
+    int total = 236;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1752) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "236", total);
+    return total;
+  }
+
+  public int compute237(String key, List<Integer> values) {
+    int total = 237;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "237", total);
+    return total;
+  }
+
+  public int compute238(String key, List<Integer> values) {
+    int total = 238;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "238", total);
+    return total;
+  }
+
+  public int compute239(String key, List<Integer> values) {
+    int total = 239;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "239", total);
+    return total;
+  }
+
+  public int compute240(String key, List<Integer> values) {
+    int total = 240;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "240", total);
+    return total;
+  }
+
+  public int compute241(String key, List<Integer> values) {
+    int total = 241;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1787) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "241", total);
+    return total;
+  }
+
+  public int compute242(String key, List<Integer> values) {
+    int total = 242;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "242", total);
+    return total;
+  }
+
+  public int compute244(String key, List<Integer> values) {
+    int total = 244;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "244", total);
+    return total;
+  }
+
+  public int compute245(String key, List<Integer> values) {
+    int total = 245;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "245", total);
+    return total;
+  }
+
+  public int compute246(String key, List<Integer> values) {
+    int total = 246;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 1822) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "246", total);
+    return total;
+  }
+
+  public int compute247(String key, List<Integer> values) {
+    int total = 247;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "247", total);
+    return total;
+  }
+
+  public int compute248(String key, List<Integer> values) {
+    int total = 248;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "248", total);
+    return total;
+  }
+
+  public int compute249(String key, List<Integer> values) {
+    int total = 249;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "249", total);
+    return total;
+  }
+
+  public String describe() {
+    return "Example with " + cache.size() + " entries";
+  }
+}
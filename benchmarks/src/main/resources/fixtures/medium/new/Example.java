@@ -0,0 +1,512 @@
+package org.example.fixture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark fixture: every fifth method changes and every tenth method is
+ * removed in the new version, which also adds a method.
+ */
+public class Example {
+
+  private final Map<String, Integer> cache = new HashMap<>();
+  private final List<String>         log   = new ArrayList<>();
+
+  public int compute0(String key, List<Integer> values) {
+    int total = 0;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "0", total);
+    return total;
+  }
+
+  public int compute1(String key, List<Integer> values) {
+    int total = 1;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 107) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "1", total);
+    return total;
+  }
+
+  public int compute2(String key, List<Integer> values) {
+    int total = 2;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "2", total);
+    return total;
+  }
+
+  public int compute4(String key, List<Integer> values) {
+    int total = 4;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "4", total);
+    return total;
+  }
+
+  public int compute5(String key, List<Integer> values) {
+    int total = 5;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "5", total);
+    return total;
+  }
+
+  public int compute6(String key, List<Integer> values) {
+    int total = 6;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 142) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "6", total);
+    return total;
+  }
+
+  public int compute7(String key, List<Integer> values) {
+    int total = 7;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "7", total);
+    return total;
+  }
+
+  public int compute8(String key, List<Integer> values) {
+    int total = 8;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "8", total);
+    return total;
+  }
+
+  public int compute9(String key, List<Integer> values) {
+    int total = 9;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "9", total);
+    return total;
+  }
+
+  public int compute10(String key, List<Integer> values) {
+    int total = 10;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "10", total);
+    return total;
+  }
+
+  public int compute11(String key, List<Integer> values) {
+    int total = 11;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 177) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "11", total);
+    return total;
+  }
+
+  public int compute12(String key, List<Integer> values) {
+    int total = 12;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "12", total);
+    return total;
+  }
+
+  public int compute14(String key, List<Integer> values) {
+    int total = 14;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "14", total);
+    return total;
+  }
+
+  public int compute15(String key, List<Integer> values) {
+    int total = 15;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "15", total);
+    return total;
+  }
+
+  public int compute16(String key, List<Integer> values) {
+    int total = 16;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 212) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "16", total);
+    return total;
+  }
+
+  public int compute17(String key, List<Integer> values) {
+    int total = 17;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "17", total);
+    return total;
+  }
+
+  public int compute18(String key, List<Integer> values) {
+    int total = 18;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "18", total);
+    return total;
+  }
+
+  public int compute19(String key, List<Integer> values) {
+    int total = 19;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "19", total);
+    return total;
+  }
+
+  public int compute20(String key, List<Integer> values) {
+    int total = 20;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "20", total);
+    return total;
+  }
+
+  public int compute21(String key, List<Integer> values) {
+    int total = 21;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 247) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "21", total);
+    return total;
+  }
+
+  public int compute22(String key, List<Integer> values) {
+    int total = 22;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "22", total);
+    return total;
+  }
+
+  public int compute24(String key, List<Integer> values) {
+    int total = 24;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "24", total);
+    return total;
+  }
+
+  public int compute25(String key, List<Integer> values) {
+    int total = 25;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "25", total);
+    return total;
+  }
+
+  public int compute26(String key, List<Integer> values) {
+    int total = 26;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 282) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "26", total);
+    return total;
+  }
+
+  public int compute27(String key, List<Integer> values) {
+    int total = 27;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "27", total);
+    return total;
+  }
+
+  public int compute28(String key, List<Integer> values) {
+    int total = 28;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "28", total);
+    return total;
+  }
+
+  public int compute29(String key, List<Integer> values) {
+    int total = 29;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "29", total);
+    return total;
+  }
+
+  public int compute30(String key, List<Integer> values) {
+    int total = 30;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "30", total);
+    return total;
+  }
+
+  public int compute31(String key, List<Integer> values) {
+    int total = 31;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 317) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "31", total);
+    return total;
+  }
+
+  public int compute32(String key, List<Integer> values) {
+    int total = 32;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "32", total);
+    return total;
+  }
+
+  public int compute34(String key, List<Integer> values) {
+    int total = 34;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "34", total);
+    return total;
+  }
+
+  public int compute35(String key, List<Integer> values) {
+    int total = 35;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "35", total);
+    return total;
+  }
+
+  public int compute36(String key, List<Integer> values) {
+    int total = 36;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 352) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "36", total);
+    return total;
+  }
+
+  public int compute37(String key, List<Integer> values) {
+    int total = 37;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "37", total);
+    return total;
+  }
+
+  public int compute38(String key, List<Integer> values) {
+    int total = 38;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 5 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "38", total);
+    return total;
+  }
+
+  public int compute39(String key, List<Integer> values) {
+    int total = 39;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "39", total);
+    return total;
+  }
+
+  public String describe() {
+    return "Example with " + cache.size() + " entries";
+  }
+}
@@ -0,0 +1,75 @@
+package org.example.fixture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark fixture: every fifth method changes and every tenth method is
+ * removed in the new version, which also adds a method.
+ */
+public class Example {
+
+  private final Map<String, Integer> cache = new HashMap<>();
+  private final List<String>         log   = new ArrayList<>();
+
+  public int compute0(String key, List<Integer> values) {
+    int total = 0;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 2 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "0", total);
+    return total;
+  }
+
+  public int compute1(String key, List<Integer> values) {
+    int total = 1;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 3 == 0) {
+        total -= values.get(i);
+      } else {
+        total += key.length();
+      }
+      if (total > 107) {
+        log.add("overflow " + key);
+      }
+    }
+    cache.put(key + "1", total);
+    return total;
+  }
+
+  public int compute2(String key, List<Integer> values) {
+    int total = 2;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 4 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "2", total);
+    return total;
+  }
+
+  public int compute4(String key, List<Integer> values) {
+    int total = 4;
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) % 6 == 0) {
+        total += values.get(i);
+      } else {
+        total += key.length();
+      }
+    }
+    cache.put(key + "4", total);
+    return total;
+  }
+
+  public String describe() {
+    return "Example with " + cache.size() + " entries";
+  }
+}
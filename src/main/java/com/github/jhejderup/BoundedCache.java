@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory cache holding at most `maxEntries` entries, evicting the least
+ * recently used one first.
+ * <p>
+ * Values are created while holding the lock of the cache, so expensive values
+ * should be wrapped in a future that is completed elsewhere.
+ */
+public final class BoundedCache<K, V> {
+
+  private final int                 maxEntries;
+  private final Consumer<V>         onEvict;
+  private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f,
+      true);
+
+  /**
+   * @param onEvict called (outside the lock) with every evicted value
+   */
+  public BoundedCache(int maxEntries, Consumer<V> onEvict) {
+    this.maxEntries = Math.max(1, maxEntries);
+    this.onEvict = onEvict;
+  }
+
+  public BoundedCache(int maxEntries) {
+    this(maxEntries, value -> {
+    });
+  }
+
+  public V computeIfAbsent(K key, Function<K, V> create) {
+    var evicted = new ArrayList<V>();
+    V value;
+    synchronized (this) {
+      value = entries.get(key);
+      if (value == null) {
+        value = create.apply(key);
+        entries.put(key, value);
+        var it = entries.values().iterator();
+        while (entries.size() > maxEntries) {
+          evicted.add(it.next());
+          it.remove();
+        }
+      }
+    }
+    evicted.forEach(onEvict);
+    return value;
+  }
+
+  /**
+   * removes `key` only if it still maps to `value`, without calling the
+   * eviction callback
+   */
+  public synchronized boolean remove(K key, V value) {
+    return entries.remove(key, value);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+}
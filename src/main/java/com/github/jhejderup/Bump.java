@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import com.github.jhejderup.artifact.maven.Coordinate;
+
+import java.util.*;
+
+/**
+ * Update of one dependency from an old to a new version, written as
+ * `groupId:artifactId:oldVersion:newVersion`.
+ */
+public final class Bump {
+  public final Coordinate oldCoord;
+  public final Coordinate newCoord;
+
+  public Bump(String groupId, String artifactId, String oldVersion,
+      String newVersion) {
+    this.oldCoord = new Coordinate(groupId, artifactId, oldVersion);
+    this.newCoord = new Coordinate(groupId, artifactId, newVersion);
+  }
+
+  public static Bump parse(String line) {
+    var parts = line.trim().split(":");
+    if (parts.length != 4) {
+      throw new IllegalArgumentException(
+          "expected groupId:artifactId:oldVersion:newVersion, got `" + line
+              + "`");
+    }
+    return new Bump(parts[0], parts[1], parts[2], parts[3]);
+  }
+
+  /**
+   * bumps of a file with one bump per line, ignoring blank lines and
+   * `#` comments
+   */
+  public static List<Bump> parseAll(List<String> lines) {
+    var bumps = new ArrayList<Bump>();
+    for (var line : lines) {
+      var trimmed = line.trim();
+      if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+        bumps.add(parse(trimmed));
+      }
+    }
+    return bumps;
+  }
+
+  public String dependency() {
+    return oldCoord.groupId + ":" + oldCoord.artifactId;
+  }
+
+  /**
+   * name usable as a file name, e.g. `org.slf4j-slf4j-api-1.7.25-2.0.0`
+   */
+  public String fileName() {
+    return (oldCoord.groupId + "-" + oldCoord.artifactId + "-"
+        + oldCoord.version + "-" + newCoord.version)
+        .replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+
+  @Override
+  public String toString() {
+    return dependency() + ":" + oldCoord.version + ":" + newCoord.version;
+  }
+}
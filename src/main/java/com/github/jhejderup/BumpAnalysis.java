@@ -0,0 +1,719 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import com.github.jhejderup.analysis.CallerSearch;
+import com.github.jhejderup.analysis.ConstantPoolScanner;
+import com.github.jhejderup.analysis.ConstantPoolScanner.References;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.artifact.maven.Artifact;
+import com.github.jhejderup.artifact.maven.Coordinate;
+import com.github.jhejderup.artifact.maven.Resolver;
+import com.github.jhejderup.diff.ast.ChangeIndex;
+import com.github.jhejderup.diff.ast.ChangeSetCache;
+import com.github.jhejderup.diff.ast.ParallelDiffer;
+import com.github.jhejderup.diff.bytecode.BytecodeDiff;
+import com.github.jhejderup.diff.bytecode.BytecodeDiffer;
+import com.github.jhejderup.diff.file.FileDiff;
+import com.github.jhejderup.diff.file.JarDiffer;
+import com.github.jhejderup.metrics.Metrics;
+import com.github.jhejderup.metrics.Stage;
+import net.steppschuh.markdowngenerator.text.Text;
+import net.steppschuh.markdowngenerator.text.emphasis.BoldText;
+import net.steppschuh.markdowngenerator.text.emphasis.ItalicText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Change impact analysis of one dependency bump: downloads both versions,
+ * diffs their sources, searches the project callers of changed functions and
+ * writes the report.
+ * <p>
+ * The call graph is passed in, so several bumps can share the one of their
+ * project. Each stage is measured in {@link #metrics}.
+ */
+public final class BumpAnalysis implements AutoCloseable {
+
+  private static Logger logger = LoggerFactory.getLogger(BumpAnalysis.class);
+
+  /**
+   * outcome of a bump, with the exit code of the single bump command
+   */
+  public enum Status {
+    AFFECTED(0), FAILED(1), MISSING_ARTIFACT(50), NOT_ON_CLASSPATH(
+        51), NOT_AFFECTED(52);
+
+    public final int exitCode;
+
+    Status(int exitCode) {
+      this.exitCode = exitCode;
+    }
+  }
+
+  public static final class Outcome {
+    public final Status         status;
+    public final long           changedFunctions;
+    public final long           affectedFunctions;
+    public final Optional<Path> report;
+
+    public Outcome(Status status, long changedFunctions, long affectedFunctions,
+        Optional<Path> report) {
+      this.status = status;
+      this.changedFunctions = changedFunctions;
+      this.affectedFunctions = affectedFunctions;
+      this.report = report;
+    }
+
+    public static Outcome of(Status status) {
+      return new Outcome(status, 0, 0, Optional.empty());
+    }
+  }
+
+  public final Coordinate oldCoord;
+  public final Coordinate newCoord;
+  public final Metrics    metrics;
+
+  private final Artifact oldArtifact;
+  private final Artifact newArtifact;
+
+  private Optional<Path> oldSrcJar, oldSrc, oldJar, newSrcJar, newSrc;
+  private String         clpathDepz;
+  private boolean        closed;
+
+  /**
+   * starts downloading both versions in the background
+   */
+  public BumpAnalysis(Coordinate oldCoord, Coordinate newCoord) {
+    this(oldCoord, newCoord, Resolver.shared());
+  }
+
+  public BumpAnalysis(Coordinate oldCoord, Coordinate newCoord,
+      Resolver resolver) {
+    this.oldCoord = oldCoord;
+    this.newCoord = newCoord;
+    this.metrics = new Metrics(oldCoord + " -> " + newCoord.version);
+    this.oldArtifact = new Artifact(oldCoord, resolver).prefetch();
+    this.newArtifact = new Artifact(newCoord, resolver).prefetch();
+  }
+
+  ///
+  /// 0. Does the project refer to the dependency at all?
+  ///
+
+  /**
+   * NOT_AFFECTED if no class of a project classpath refers to a class of the
+   * old version, so the bump can be skipped before waiting for the sources,
+   * diffing and building a call graph; empty if it must be analysed
+   */
+  public Optional<Outcome> checkReferences(String clpathProject) {
+    if (!ConstantPoolScanner.isEnabled()) {
+      return Optional.empty();
+    }
+    return ConstantPoolScanner.scan(clpathProject)
+        .flatMap(this::checkReferences);
+  }
+
+  /**
+   * same check with the references of a project scanned once for all its
+   * bumps
+   */
+  public Optional<Outcome> checkReferences(References project) {
+    try (var stage = metrics.stage("references")) {
+      var jar = oldArtifact.getBinary();
+      // a missing jar is reported by resolve()
+      var classes = jar.flatMap(ConstantPoolScanner::classesOf);
+      if (!classes.isPresent()) {
+        return Optional.empty();
+      }
+      var referenced = project.classesIn(classes.get());
+      stage.count("classFiles", project.files())
+          .count("referencedClasses", referenced.size());
+      if (referenced.isEmpty()) {
+        logger.info("[Uppdatera] The project doesn't refer to any class of "
+            + oldCoord);
+        return Optional.of(Outcome.of(Status.NOT_AFFECTED));
+      }
+      return Optional.empty();
+    }
+  }
+
+  ///
+  /// 1. Validate and download artifacts
+  ///
+
+  /**
+   * waits for the downloads, empty if the bump can be analysed
+   */
+  public Optional<Outcome> resolve() {
+    try (var stage = metrics.stage("resolve")) {
+      var outcome = resolveArtifacts();
+      stage.count("artifacts",
+          Stream.of(oldSrcJar, oldJar, newSrcJar).filter(Optional::isPresent)
+              .count());
+      return outcome;
+    }
+  }
+
+  private Optional<Outcome> resolveArtifacts() {
+    oldSrcJar = oldArtifact.getSourceJar();
+    oldSrc = oldSrcJar.flatMap(Artifact::openSources);
+    oldJar = oldArtifact.getBinary();
+    newSrcJar = newArtifact.getSourceJar();
+    newSrc = newSrcJar.flatMap(Artifact::openSources);
+
+    if (!oldSrc.isPresent() || !newSrc.isPresent() || !oldJar.isPresent()) {
+      if (!oldSrc.isPresent())
+        logger.error("[Uppdatera] Unable to download source for " + oldCoord);
+      if (!newSrc.isPresent())
+        logger.error("[Uppdatera] Unable to  download source for  " + newCoord);
+      if (!oldJar.isPresent())
+        logger.error("[Uppdatera] Unable to download jar file for " + oldCoord);
+      return Optional.of(Outcome.of(Status.MISSING_ARTIFACT));
+    }
+
+    ///
+    /// Get classpath of dependency
+    ///
+
+    clpathDepz = oldArtifact.getClassPath().get();
+
+    var filenameOldJar = oldJar.get().getFileName().toString();
+    if (!clpathDepz.contains(filenameOldJar)) {
+      logger.error("[Uppdatera] `" + filenameOldJar
+          + "` is not in the dep classpath of `" + clpathDepz + "`");
+      return Optional.of(Outcome.of(Status.NOT_ON_CLASSPATH));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * classpath of the old version, for the call graph (after `resolve()`)
+   */
+  public String getDependencyClassPath() {
+    return clpathDepz;
+  }
+
+  /**
+   * gives back the opened sources of both versions, once the bump is
+   * analysed or failed
+   */
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      Stream.of(oldSrc, newSrc).filter(Objects::nonNull)
+          .forEach(src -> src.ifPresent(Artifact::closeSources));
+    }
+  }
+
+  /**
+   * diffs the bump and writes `reportFile` if project functions are affected
+   *
+   * @param graph call graph of the project and the old version
+   */
+  public Outcome analyze(CallerSearch graph, Path reportFile)
+      throws IOException {
+    return analyze(graph, diff(isReachabilityFirst() ? graph : null, false),
+        reportFile);
+  }
+
+  /**
+   * builds the call graph while diffing the bump, joining at the reachability
+   * analysis, and writes `reportFile` if project functions are affected.
+   * <p>
+   * A branch that fails, or a diff without changed functions, interrupts the
+   * other branch. In reachability-first mode the diff needs the call graph,
+   * so the branches run one after the other. Branches that run at the same
+   * time are measured as such (see {@link Metrics#branch(String)}).
+   *
+   * @param graph builds the call graph of the project and the old version
+   */
+  public Outcome analyze(Supplier<Optional<CallerSearch>> graph,
+      Path reportFile) throws IOException {
+    if (isReachabilityFirst()) {
+      var built = buildGraph(graph, false);
+      return built.isPresent() ?
+          analyze(built.get(), reportFile) :
+          Outcome.of(Status.FAILED);
+    }
+
+    var pool = Executors
+        .newFixedThreadPool(2, new DaemonThreadFactory("uppdatera-branch-"));
+    try {
+      var graphBranch = CompletableFuture
+          .supplyAsync(() -> buildGraph(graph, true), pool);
+      var diffBranch = CompletableFuture.supplyAsync(() -> diff(null, true), pool);
+      // shutting the pool down interrupts the branch still running
+      graphBranch.whenComplete((built, e) -> {
+        if (e != null || !built.isPresent()) {
+          pool.shutdownNow();
+        }
+      });
+      diffBranch.whenComplete((changes, e) -> {
+        if (e != null || changes.isEmpty()) {
+          pool.shutdownNow();
+        }
+      });
+
+      Changes changes;
+      try {
+        changes = diffBranch.join();
+      } catch (CompletionException e) {
+        // a failed graph branch interrupts the diff, report it instead
+        if (graphBranch.isDone() && hasFailed(graphBranch)) {
+          return Outcome.of(Status.FAILED);
+        }
+        // the graph branch is interrupted, not waited for
+        logger.error("[Uppdatera] Failed to diff " + oldCoord + " -> "
+            + newCoord.version + ": " + e.getCause());
+        return Outcome.of(Status.FAILED);
+      }
+      if (changes.isEmpty()) {
+        return Outcome.of(Status.NOT_AFFECTED);
+      }
+      if (hasFailed(graphBranch)) {
+        return Outcome.of(Status.FAILED);
+      }
+      return analyze(graphBranch.join().get(), changes, reportFile);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private Optional<CallerSearch> buildGraph(
+      Supplier<Optional<CallerSearch>> graph, boolean branch) {
+    try (var stage = branch ?
+        metrics.branch("callgraph") :
+        metrics.stage("callgraph")) {
+      var built = graph.get();
+      built.ifPresent(g -> stage.count("nodes", g.vertices())
+          .count("edges", g.edges()));
+      return built;
+    }
+  }
+
+  private static boolean hasFailed(
+      CompletableFuture<Optional<CallerSearch>> graph) {
+    try {
+      if (!graph.join().isPresent()) {
+        logger.error("[Uppdatera] Failed to build the call graph");
+        return true;
+      }
+      return false;
+    } catch (CompletionException e) {
+      logger.error("[Uppdatera] Failed to build the call graph: " + e
+          .getCause());
+      return true;
+    }
+  }
+
+  ///
+  /// 3. EditScript Generation
+  ///
+
+  /**
+   * changed functions with their edit operations, one map per source file
+   */
+  private static final class Changes {
+    final List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> methods;
+
+    Changes(
+        List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> methods) {
+      this.methods = methods;
+    }
+
+    boolean isEmpty() {
+      return methods.isEmpty();
+    }
+  }
+
+  /**
+   * @param reachableFrom if not null, only diffs the source files of the
+   *                      classes it reaches from the project
+   * @param branch        true if the call graph is built at the same time
+   */
+  private Changes diff(CallerSearch reachableFrom, boolean branch) {
+    List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> methodDiff;
+    try (var stage = branch ? metrics.branch("diff") : metrics.stage("diff")) {
+      // the changes don't depend on the project, unless only reachable files
+      // are diffed
+      var cache = reachableFrom == null ?
+          ChangeSetCache.fromSystemProperties() :
+          Optional.<ChangeSetCache>empty();
+      var key = cache.flatMap(c -> changeSetKey());
+      var cached = key.flatMap(k -> cache.get().load(k));
+      cached.ifPresent(changes -> stage.count("cached", 1));
+      if (!cached.isPresent() && reachableFrom == null) {
+        cached = indexedChanges();
+        cached.ifPresent(changes -> stage.count("indexed", 1));
+      }
+      if (cached.isPresent()) {
+        methodDiff = cached.get();
+      } else {
+        var diff = diffSources(reachableFrom, stage);
+        methodDiff = diff.changedMethods;
+        stage.count("failures", diff.failures.size());
+        if (diff.failures.isEmpty()) {
+          key.ifPresent(k -> cache.get().store(k, methodDiff));
+        }
+      }
+
+      stage.count("changedMethods", methodDiff.stream().mapToLong(Map::size).sum())
+          .count("operations", methodDiff.stream()
+              .flatMap(md -> md.values().stream()).flatMap(List::stream)
+              .mapToLong(change -> change.getValue().size()).sum());
+    }
+    return new Changes(methodDiff);
+  }
+
+  /**
+   * changes composed from the precomputed deltas of the dependency, if it
+   * was indexed (see {@link UppdateraIndex})
+   */
+  private Optional<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>> indexedChanges() {
+    if (!ChangeIndex.isEnabled()) {
+      return Optional.empty();
+    }
+    return ChangeIndex
+        .open(ChangeIndex.file(oldCoord.groupId, oldCoord.artifactId))
+        .flatMap(index -> index
+            .changes(oldCoord.version, oldSrcJar.get(), newCoord.version,
+                newSrcJar.get()));
+  }
+
+  private Optional<String> changeSetKey() {
+    try {
+      return Optional.of(ChangeSetCache.key(oldSrcJar.get(), newSrcJar.get()));
+    } catch (IOException e) {
+      logger.warn("[Uppdatera] Unable to hash the sources jars: " + e);
+      return Optional.empty();
+    }
+  }
+
+  private ParallelDiffer.Result diffSources(CallerSearch reachableFrom,
+      Stage stage) {
+    // classes without changed method bodies don't need an AST diff
+    var bytecode = BytecodeDiffer.isEnabled() ?
+        newArtifact.getBinary()
+            .flatMap(newJar -> BytecodeDiffer.diff(oldJar.get(), newJar)) :
+        Optional.<BytecodeDiff>empty();
+
+    // reachability first: only files declaring a class with a project caller
+    var reachable = reachableFrom != null ?
+        reachableFrom.reachableClasses().flatMap(
+            classes -> BytecodeDiffer.sourceFiles(oldJar.get(), classes)) :
+        Optional.<Set<String>>empty();
+    reachable.ifPresent(
+        sources -> stage.count("reachableSources", sources.size()));
+
+    var differ = new ParallelDiffer(ParallelDiffer.defaultWorkers(),
+        ParallelDiffer.defaultSharedModel(), oldJar.get().toString());
+    var diff = differ.diff(
+        impactedFiles(oldSrcJar.get(), newSrcJar.get(), oldSrc.get(),
+            newSrc.get(), bytecode)
+            .filter(fd -> reachable.map(sources -> declaresAny(fd, sources))
+                .orElse(true)).peek(fd -> stage.add("files", 1)), stage);
+    return retainChanged(diff, bytecode);
+  }
+
+  /**
+   * source files of a bump that can change a function: java files outside of
+   * tests, without those whose classes have the same method bodies in both
+   * jars
+   */
+  static Stream<FileDiff> impactedFiles(Path oldSrcJar, Path newSrcJar,
+      Path oldSrc, Path newSrc, Optional<BytecodeDiff> bytecode) {
+    return JarDiffer.diff(oldSrcJar, newSrcJar, oldSrc, newSrc)
+        .filter(fd -> fd.isJavaFile()).filter(fd -> fd.isNotTestFile())
+        .filter(fd -> fd.isImpactKind()).filter(
+            fd -> !bytecode.map(bd -> bd.isUnchanged(fd, oldSrc))
+                .orElse(false));
+  }
+
+  /**
+   * drops AST changes of methods whose bytecode is unchanged
+   */
+  static ParallelDiffer.Result retainChanged(ParallelDiffer.Result diff,
+      Optional<BytecodeDiff> bytecode) {
+    if (!bytecode.isPresent()) {
+      return diff;
+    }
+    return new ParallelDiffer.Result(diff.changedMethods.stream()
+        .map(bytecode.get()::retainChanged).filter(md -> md.size() > 0)
+        .collect(Collectors.toList()), diff.failures);
+  }
+
+  private Outcome analyze(CallerSearch graph, Changes changes,
+      Path reportFile) throws IOException {
+    var methodDiff = changes.methods;
+
+    ///
+    /// 4. Reachability Analysis
+    ///
+    Map<JVMIdentifier, List<JVMIdentifier>> paths;
+    try (var stage = metrics.stage("reachability")) {
+      var queries = methodDiff.stream().flatMap(md -> md.keySet().stream())
+          .collect(Collectors.toList());
+      paths = graph.searchAll(queries);
+      stage.count("queries", queries.size()).count("reachable",
+          paths.values().stream().filter(path -> !path.isEmpty()).count());
+    }
+
+    ///
+    /// 5. Gather Stats & Print report
+    ///
+    try (var stage = metrics.stage("report")) {
+      var outcome = report(methodDiff, paths, reportFile);
+      stage.count("changedFunctions", outcome.changedFunctions)
+          .count("affectedFunctions", outcome.affectedFunctions);
+      return outcome;
+    }
+  }
+
+  /**
+   * diff only the source files of dependency classes that the call graph
+   * reaches from the project, enable with
+   * `-Duppdatera.diff.reachableOnly=true`
+   */
+  public static boolean isReachabilityFirst() {
+    return Boolean.getBoolean("uppdatera.diff.reachableOnly");
+  }
+
+  /**
+   * true if the old version of a file is one of `sources` (relative to the
+   * old source root); added files have no callers in the old version
+   */
+  private boolean declaresAny(FileDiff fd, Set<String> sources) {
+    if (!fd.srcFile.isPresent()) {
+      return false;
+    }
+    var file = fd.srcFile.get();
+    if (!file.startsWith(oldSrc.get())) {
+      return true;
+    }
+    var source = oldSrc.get().relativize(file).toString().replace('\\', '/');
+    if (sources.contains(source)) {
+      return true;
+    }
+    logger.info("[Uppdatera] Skipping {}, no project caller reaches it",
+        source);
+    return false;
+  }
+
+  private Outcome report(
+      List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> methodDiff,
+      Map<JVMIdentifier, List<JVMIdentifier>> paths, Path reportFile)
+      throws IOException {
+    var result = methodDiff.stream().map(md -> md.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, e -> {
+          var path = paths.get(e.getKey());
+          return new ResultData(e.getKey(), path, e.getValue());
+        }))).collect(Collectors.toList());
+
+    var totalChangedFunctions = result.stream()
+        .flatMap(md -> md.entrySet().stream()).count();
+
+    var numAffectedFunctions = result.stream()
+        .flatMap(md -> md.entrySet().stream())
+        .filter(entry -> entry.getValue().path.size() > 0).count();
+
+    if (numAffectedFunctions < 1) {
+      return new Outcome(Status.NOT_AFFECTED, totalChangedFunctions, 0,
+          Optional.empty());
+    }
+
+    var report = formatReport(result, totalChangedFunctions,
+        numAffectedFunctions);
+    try (var out = new PrintWriter(reportFile.toFile())) {
+      out.println(report);
+    }
+    return new Outcome(Status.AFFECTED, totalChangedFunctions,
+        numAffectedFunctions, Optional.of(reportFile));
+  }
+
+  private StringBuilder formatReport(
+      List<Map<JVMIdentifier, ResultData>> result, long totalChangedFunctions,
+      long numAffectedFunctions) {
+    var affectedFunctions = result.stream()
+        .flatMap(md -> md.entrySet().stream())
+        .filter(entry -> entry.getValue().path.size() > 0)
+        .collect(Collectors.groupingBy(e -> {
+          var callstack = e.getValue().path;
+          return callstack.get(callstack.size() - 1);
+        }));
+
+    /// Starting paragraph
+    var report = new StringBuilder().append(new Text(String
+        .format("Bumps %s from %s to %s. ",
+            oldCoord.groupId + ":" + oldCoord.artifactId, oldCoord.version,
+            newCoord.version))).append(new BoldText(String.format(
+        "This update introduces changes in %d existing functions: %d of those functions are called by "
+            + affectedFunctions.keySet().size()
+            + " function(s) in this project and has the risk of creating potential regression errors.",
+        totalChangedFunctions, numAffectedFunctions))).append(new Text(
+        " We advise you to review these changes before merging the pull request."))
+        .append("\n\n").append(new Text(
+            "Below are project functions that will be impacted after the update:"))
+        .append("\n");
+
+    /// iterate affected functions
+    affectedFunctions.entrySet().stream().forEach(entry -> {
+
+      var mid = entry.getKey();
+      var traceb = new StringBuilder();
+
+      var changeSize = entry.getValue().size();
+
+      var targetMethods = new HashSet<JVMIdentifier>();
+
+      if (changeSize > 3) {
+
+        var r = new Random().ints(0, changeSize).distinct().limit(3).toArray();
+        traceb.append(
+            entry.getValue().get(r[0])
+                .getValue().generateCallTraceMarkdown());
+        traceb.append(
+            entry.getValue().get(r[1])
+                .getValue().generateCallTraceMarkdown());
+        traceb.append(
+            entry.getValue().get(r[2])
+                .getValue().generateCallTraceMarkdown());
+
+        targetMethods.add( entry.getValue().get(r[0]).getKey());
+        targetMethods.add( entry.getValue().get(r[1]).getKey());
+        targetMethods.add( entry.getValue().get(r[2]).getKey());
+      } else {
+        traceb.append(
+            entry.getValue().get(0).getValue().generateCallTraceMarkdown());
+        targetMethods.add( entry.getValue().get(0).getKey());
+      }
+
+      report.append(new Text(String.format(
+          "- [![f!](https://img.shields.io/static/v1?label=%s&message=%s()&color=informational&style=flat-square)]()[![f!](https://img.shields.io/badge/&#x21A6;-black?style=flat-square)]()[![f!](https://img.shields.io/static/v1?label=%s&message=reachable&nbsp;dep&nbsp;function(s)&color=critical&style=flat-square)]()",
+          mid.clazzName.substring(1).replace("/", ".").replace("_","\\_"), mid.methodName.replace("_","\\_"),
+          entry.getValue().size()))).append(
+          new Text("<details><summary>Sample Affected Path(s)</summary>"))
+          .append(traceb.toString()).append(new Text("</details>")).append(
+          new Text("<details><summary>Changed Dependency Function(s)</summary>"))
+          .append(new Text(formatChanges(entry.getValue(), targetMethods)))
+          .append(new Text("</details>")).append("\n");
+
+    });
+
+    report.append("<hr>").append("\n\n");
+    /// survey
+
+    report.append(new Text(
+        "Did you find this information useful?  Give this issue a :+1: if it is **useful**, :-1: if it is **not**, and :hand: if **neutral**. "))
+        .append("\n\n");
+
+    report.append(new Text("<details>"));
+    report.append(
+        new Text("<summary>Want to help us or have suggestions?</summary>"))
+        .append("\n\n");
+    report.append(new Text(
+        "We are a group of university researchers trying to make automated dependency services more useful and user-friendly for OSS projects. If you have feedback and questions about this, feel free to submit it [here](https://docs.google.com/forms/d/e/1FAIpQLScgYhqcCGeRjRMqErM3d8BDkDq2ASjAP5pP6EfYamQWYbSTiA/viewform?entry.1269199518=)."))
+        .append("\n\n");
+    report.append(new Text("</details>"));
+    return report;
+  }
+
+  private static String formatChanges(
+      List<Map.Entry<JVMIdentifier, ResultData>> changeSet,HashSet<JVMIdentifier> match) {
+    var report = new StringBuilder();
+
+    report.append("<ul>");
+
+    var list = new ArrayList<String>();
+    var special = new ArrayList<String>();
+
+    changeSet.forEach(ch -> {
+
+      var change = ch.getValue().changeSet.get(0);
+      var method = change.getKey();
+      var sb = new StringBuilder();
+
+      if (method.srcMethod.isPresent() && method.dstMethod.isPresent()) {
+        var src = method.srcMethod.get();
+        var dst = method.dstMethod.get();
+
+        if (src.equals(dst)) {
+          sb.append(
+              "[![f!](https://img.shields.io/badge/modified-orange?style=flat-square)]()");
+        } else {
+          sb.append(
+              "[![f!](https://img.shields.io/badge/moved-blue?style=flat-square)]()");
+        }
+      } else {
+        sb.append(
+            "[![f!](https://img.shields.io/badge/deleted-red?style=flat-square)]()");
+      }
+
+      sb.append(String.format(
+          "[![f!](https://img.shields.io/static/v1?label=%s&message=%s()&color=informational&style=flat-square)]()",
+          method.getSrcMethod().clazzName.substring(1).replace("/", ".").replace("_","\\_"),
+          method.getSrcMethod().methodName.replace("_","\\_")));
+
+      if(match.contains(method.getSrcMethod())){
+        list.add(String.format("<li>%s%s</li>", sb.toString(),
+            formatOperations(change.getValue())));
+      } else {
+
+        var t = String.format("[![f!](https://img.shields.io/static/v1?label=%s&message=AST&nbsp;changes&color=orange&style=flat-square)]()", change.getValue().size());
+        special.add(String.format("<li>%s%s</li>", sb.toString(), t));
+      }
+
+    });
+
+    list.stream().forEach(s -> report.append(s));
+    special.stream().forEach(s -> report.append(s));
+
+
+    report.append("</ul>");
+
+    return report.toString();
+  }
+
+  private static String formatOperations(List<OperationSummary> changes) {
+
+    var report = new StringBuilder();
+    report.append("<ul>");
+
+    changes.stream().limit(10).forEach(
+        op -> report.append(String.format("<li>%s</li>", op.toString())));
+
+    if (changes.size() > 10) {
+      report.append(new ItalicText(String
+          .format("<li>... %s more AST change(s)</li>", changes.size() - 10)));
+    }
+
+    report.append("</ul>");
+
+    return report.toString();
+
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Location of the on-disk caches shared by all runs, configured with
+ * `-Duppdatera.cache.dir` (default ~/.uppdatera/cache).
+ */
+public final class CacheDirectory {
+
+  private CacheDirectory() {
+  }
+
+  public static Path root() {
+    var defaultRoot = Paths
+        .get(System.getProperty("user.home"), ".uppdatera", "cache");
+    return Paths.get(
+        System.getProperty("uppdatera.cache.dir", defaultRoot.toString()));
+  }
+
+  /**
+   * folder of one kind of cache entries
+   */
+  public static Path of(String name) {
+    return root().resolve(name);
+  }
+
+  /**
+   * deletes the least recently modified files ending with `suffix` until the
+   * folder holds at most `maxBytes` of them
+   *
+   * @return the deleted files
+   */
+  public static List<Path> evict(Path directory, String suffix, long maxBytes)
+      throws IOException {
+    List<Path> entries;
+    try (var list = Files.list(directory)) {
+      entries = list.filter(p -> p.toString().endsWith(suffix))
+          .collect(Collectors.toList());
+    }
+    var lastUsed = new HashMap<Path, Long>();
+    var total = 0L;
+    for (var entry : entries) {
+      lastUsed.put(entry, Files.getLastModifiedTime(entry).toMillis());
+      total += Files.size(entry);
+    }
+    entries.sort(Comparator.comparing(lastUsed::get));
+
+    var evicted = new ArrayList<Path>();
+    for (var entry : entries) {
+      if (total <= maxBytes) {
+        break;
+      }
+      var size = Files.size(entry);
+      Files.deleteIfExists(entry);
+      total -= size;
+      evicted.add(entry);
+    }
+    return evicted;
+  }
+
+  /**
+   * hex SHA-256 of a file's content, to address cache entries by content
+   */
+  public static String sha256(Path file) throws IOException {
+    var digest = newSha256();
+    var buffer = new byte[64 * 1024];
+    try (var in = Files.newInputStream(file)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  public static MessageDigest newSha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static String toHex(byte[] bytes) {
+    var sb = new StringBuilder(bytes.length * 2);
+    for (var b : bytes) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+}
@@ -41,7 +41,7 @@ public final class MethodStats {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(this.toString());
+    return Objects.hash(this.srcMethod, this.dstMethod);
   }
 
   @Override
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import gumtree.spoon.builder.SpoonGumTreeBuilder;
+import gumtree.spoon.diff.operations.MoveOperation;
+import gumtree.spoon.diff.operations.Operation;
+import gumtree.spoon.diff.operations.UpdateOperation;
+import spoon.reflect.code.CtBlock;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.cu.position.NoSourcePosition;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtExecutable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * What a report shows of an edit operation: the action, the kind of the
+ * changed node and of its enclosing statement or executable, and their
+ * lines in the old (and for updates and moves, the new) version.
+ * <p>
+ * Summaries don't refer to the Spoon model or GumTree trees they come from.
+ */
+public final class OperationSummary {
+
+  public static final int NO_LINE = -1;
+
+  public final String action;
+  public final String nodeType;
+  public final String parentType;
+  public final int    line;
+  /**
+   * null unless the node is updated or moved
+   */
+  public final String dstParentType;
+  public final int    dstLine;
+
+  public OperationSummary(String action, String nodeType, String parentType,
+      int line, String dstParentType, int dstLine) {
+    this.action = action;
+    this.nodeType = nodeType;
+    this.parentType = parentType;
+    this.line = line;
+    this.dstParentType = dstParentType;
+    this.dstLine = dstLine;
+  }
+
+  public static OperationSummary of(Operation op) {
+    var node = op.getNode();
+    String dstParentType = null;
+    int dstLine = NO_LINE;
+    if (op instanceof UpdateOperation || op instanceof MoveOperation) {
+      var elementDest = (CtElement) op.getAction().getNode()
+          .getMetadata(SpoonGumTreeBuilder.SPOON_OBJECT_DEST);
+      dstParentType = typeName(getExecutableParentNode(elementDest));
+      dstLine = line(elementDest);
+    }
+    return new OperationSummary(op.getAction().getClass().getSimpleName(),
+        typeName(node), typeName(getExecutableParentNode(node)), line(node),
+        dstParentType, dstLine);
+  }
+
+  /**
+   * the changed methods of a file with summaries instead of operations
+   */
+  public static Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>> summarize(
+      Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> methods) {
+    var summaries = new HashMap<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>();
+    methods.forEach((method, changes) -> summaries.put(method,
+        changes.stream().map(change -> new AbstractMap.SimpleImmutableEntry<>(
+            change.getKey(), change.getValue().stream().map(OperationSummary::of)
+            .collect(Collectors.toList()))).collect(Collectors.toList())));
+    return summaries;
+  }
+
+  /**
+   * `CtInvocationImpl` -> `Invocation`
+   */
+  private static String typeName(CtElement element) {
+    var name = element.getClass().getSimpleName();
+    return name.substring(2, name.length() - 4);
+  }
+
+  private static int line(CtElement element) {
+    if (element.getPosition() == null || element
+        .getPosition() instanceof NoSourcePosition) {
+      return NO_LINE;
+    }
+    return element.getPosition().getLine();
+  }
+
+  private static CtElement getExecutableParentNode(CtElement child) {
+    var parent = child;
+    if (child instanceof CtExecutable) { //is it a method kind?
+      return parent;
+    } else {
+      parent = child.getParent(
+          e -> (e instanceof CtStatement || e instanceof CtExecutable));
+    }
+
+    // is it a Block? get the parent of that (e.g., IF/SWITCH/FOR ETC)
+    if (parent instanceof CtBlock) {
+      parent = parent.getParent(
+          e -> (e instanceof CtStatement || e instanceof CtExecutable));
+    }
+    return parent;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects
+        .hash(action, nodeType, parentType, line, dstParentType, dstLine);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null || getClass() != obj.getClass())
+      return false;
+    var other = (OperationSummary) obj;
+    return line == other.line && dstLine == other.dstLine && action
+        .equals(other.action) && nodeType.equals(other.nodeType) && parentType
+        .equals(other.parentType) && Objects
+        .equals(dstParentType, other.dstParentType);
+  }
+
+  /**
+   * e.g. `Update Literal in Return (L12) to Return (L14)`
+   */
+  @Override
+  public String toString() {
+    var el = new StringBuilder(action + " " + nodeType);
+    el.append(" in " + parentType);
+    if (line != NO_LINE) {
+      el.append(" (L" + line + ")");
+    }
+    if (dstParentType != null) {
+      el.append(" to " + dstParentType);
+      if (dstLine != NO_LINE) {
+        el.append(" (L" + dstLine + ")");
+      }
+    }
+    return el.toString();
+  }
+}
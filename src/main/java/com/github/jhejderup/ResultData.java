@@ -18,50 +18,23 @@
 package com.github.jhejderup;
 
 import com.github.jhejderup.artifact.JVMIdentifier;
-import gumtree.spoon.builder.SpoonGumTreeBuilder;
-import gumtree.spoon.diff.operations.MoveOperation;
-import gumtree.spoon.diff.operations.Operation;
-import gumtree.spoon.diff.operations.UpdateOperation;
-import spoon.reflect.code.CtBlock;
-import spoon.reflect.code.CtStatement;
-import spoon.reflect.cu.position.NoSourcePosition;
-import spoon.reflect.declaration.CtElement;
-import spoon.reflect.declaration.CtExecutable;
 
 import java.util.List;
 import java.util.Map;
 
 public final class ResultData {
 
-  public final JVMIdentifier                                 methodID;
-  public final List<JVMIdentifier>                           path;
-  public final List<Map.Entry<MethodStats, List<Operation>>> changeSet;
+  public final JVMIdentifier                                        methodID;
+  public final List<JVMIdentifier>                                  path;
+  public final List<Map.Entry<MethodStats, List<OperationSummary>>> changeSet;
 
   public ResultData(JVMIdentifier methodID, List<JVMIdentifier> path,
-      List<Map.Entry<MethodStats, List<Operation>>> changeSet) {
+      List<Map.Entry<MethodStats, List<OperationSummary>>> changeSet) {
     this.methodID = methodID;
     this.path = path;
     this.changeSet = changeSet;
   }
 
-  private CtElement getExecutableParentNode(CtElement child) {
-    var parent = child;
-    if (child instanceof CtExecutable) { //is it a method kind?
-      return parent;
-    } else {
-      parent = child.getParent(
-          e -> (e instanceof CtStatement || e instanceof CtExecutable));
-    }
-
-    // is it a Block? get the parent of that (e.g., IF/SWITCH/FOR ETC)
-    if (parent instanceof CtBlock) {
-      parent = parent.getParent(
-          e -> (e instanceof CtStatement || e instanceof CtExecutable));
-    }
-    return parent;
-
-  }
-
   public String generateChangeLogMarkdown() {
     var report = new StringBuilder();
     if (this.changeSet.size() > 0) {
@@ -101,51 +74,8 @@ public final class ResultData {
 
         report.append("<ul>");
 
-        changes.stream().forEach(op -> {
-
-          var nodeType = op.getNode().getClass().getSimpleName();
-          var type = nodeType.substring(2, nodeType.length() - 4);
-
-          var el = new StringBuilder(
-              op.getAction().getClass().getSimpleName() + " " + type);
-
-          var parent = getExecutableParentNode(op.getNode());
-          var parType = parent.getClass().getSimpleName();
-
-          var parentName = parType.substring(2, parType.length() - 4);
-
-          el.append(" in " + parentName);
-
-          //get line number
-          if (op.getNode().getPosition() != null && !(op.getNode()
-              .getPosition() instanceof NoSourcePosition)) {
-            el.append(" (L" + op.getNode().getPosition().getLine() + ")");
-          }
-
-          if (op instanceof UpdateOperation || op instanceof MoveOperation) {
-            var elementDest = (CtElement) op.getAction().getNode()
-                .getMetadata(SpoonGumTreeBuilder.SPOON_OBJECT_DEST);
-
-            var parDst = getExecutableParentNode(elementDest);
-
-            var parDstType = parDst.getClass().getSimpleName();
-
-            var parDstName = parDstType.substring(2, parDstType.length() - 4);
-            el.append(" to " + parDstName);
-
-            //get line number
-            if (elementDest.getPosition() != null && !(elementDest
-                .getPosition() instanceof NoSourcePosition)) {
-              el.append(" (L" + elementDest.getPosition().getLine() + ")");
-            }
-          }
-
-          //          if(op.getNode().toString().split("\n").length < 2){
-          //            el.append("<code><pre>" + op.getNode().toString(). + "</pre></code>");
-          //          }
-
-          report.append(String.format("<li>%s</li>", el.toString()));
-        });
+        changes.stream().forEach(op -> report
+            .append(String.format("<li>%s</li>", op.toString())));
         report.append("</ul>");
 
       });
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import com.github.jhejderup.BumpAnalysis.Outcome;
+import com.github.jhejderup.BumpAnalysis.Status;
+import com.github.jhejderup.analysis.CallerSearch;
+import com.github.jhejderup.analysis.ConstantPoolScanner;
+import com.github.jhejderup.metrics.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyses many dependency bumps of one project in a single JVM.
+ * <p>
+ * All artifacts are downloaded concurrently up front, and the project is
+ * scanned for references once. Bumps are then analysed concurrently, each
+ * into its own report, and a failing bump doesn't stop the others: its
+ * status ends up in `summary.tsv`.
+ * <p>
+ * Like the single bump command, each bump builds its call graph over the
+ * project and its own dependency classpath only, so its affected functions
+ * don't depend on the other bumps of the batch. A WALA class hierarchy
+ * belongs to one analysis scope and can't be shared between dependency
+ * classpaths; bumps of the same old version reuse their call graph through
+ * the call graph cache.
+ */
+public class UppdateraBatch {
+
+  private static Logger logger = LoggerFactory.getLogger(UppdateraBatch.class);
+
+  //////////
+  /// uppdatera-batch <args>
+  /// - [0] classpath_project : path to target/classes
+  /// - [1] bumps : file with one groupId:artifactId:oldVersion:newVersion per line
+  /// - [2] reports : output folder (default: reports)
+  //////////
+  public static void main(String[] args)
+      throws IOException, InterruptedException {
+    assert args.length == 2 || args.length == 3;
+
+    var clpathProject = args[0];
+    var bumps = Bump.parseAll(Files.readAllLines(Paths.get(args[1])));
+    var reports = Files
+        .createDirectories(Paths.get(args.length > 2 ? args[2] : "reports"));
+
+    ///
+    /// 1. Download the artifacts of all bumps, skipping the dependencies the
+    ///    project doesn't refer to
+    ///
+    var analyses = new HashMap<Bump, BumpAnalysis>();
+    bumps.forEach(
+        bump -> analyses.put(bump, new BumpAnalysis(bump.oldCoord, bump.newCoord)));
+    var project = ConstantPoolScanner.isEnabled() ?
+        ConstantPoolScanner.scan(clpathProject) :
+        Optional.<ConstantPoolScanner.References>empty();
+
+    var outcomes = new ConcurrentHashMap<Bump, Outcome>();
+    var ready = new ArrayList<Bump>();
+    for (var bump : bumps) {
+      var analysis = analyses.get(bump);
+      var failure = project.flatMap(analysis::checkReferences);
+      if (!failure.isPresent()) {
+        failure = analysis.resolve();
+      }
+      if (failure.isPresent()) {
+        outcomes.put(bump, failure.get());
+        analysis.close();
+      } else {
+        ready.add(bump);
+      }
+    }
+
+    ///
+    /// 2.-5. Analyse the bumps concurrently, each building the call graph of
+    ///       the project and its dependency next to its diff
+    ///
+    var pool = Executors.newFixedThreadPool(defaultWorkers());
+    try {
+      var running = new ArrayList<Future<?>>();
+      for (var bump : ready) {
+        running.add(pool.submit(() -> outcomes.put(bump,
+            analyze(bump, analyses.get(bump), clpathProject, reports))));
+      }
+      for (var future : running) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          logger.error("[Batch] " + e.getCause().toString());
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    ///
+    /// 6. Summary
+    ///
+    try (var out = new PrintWriter(reports.resolve("summary.tsv").toFile())) {
+      out.println("bump\tstatus\texit_code\tchanged\taffected\treport");
+      for (var bump : bumps) {
+        writeMetrics(analyses.get(bump).metrics,
+            reports.resolve("metrics-" + bump.fileName() + ".json"));
+        var outcome = outcomes.getOrDefault(bump, Outcome.of(Status.FAILED));
+        var line = String.join("\t", bump.toString(), outcome.status.name(),
+            String.valueOf(outcome.status.exitCode),
+            String.valueOf(outcome.changedFunctions),
+            String.valueOf(outcome.affectedFunctions),
+            outcome.report.map(Path::toString).orElse("-"));
+        out.println(line);
+        logger.info("[Batch] " + line);
+      }
+    }
+  }
+
+  /**
+   * number of bumps analysed at once, configurable with
+   * `-Duppdatera.batch.workers=N`
+   */
+  public static int defaultWorkers() {
+    return Math.max(1, Integer.getInteger("uppdatera.batch.workers", 2));
+  }
+
+  private static void writeMetrics(Metrics metrics, Path file) {
+    try {
+      metrics.writeJson(file);
+    } catch (IOException e) {
+      logger.warn("[Batch] Failed to write " + file + ": " + e.toString());
+    }
+  }
+
+  private static Outcome analyze(Bump bump, BumpAnalysis analysis,
+      String clpathProject, Path reports) {
+    try {
+      return analysis.analyze(() -> CallerSearch
+              .build(clpathProject, analysis.getDependencyClassPath()),
+          reports.resolve("report-" + bump.fileName() + ".md"));
+    } catch (Exception e) {
+      logger.error("[Batch] Failed to analyse " + bump + ": " + e.toString());
+      return Outcome.of(Status.FAILED);
+    } finally {
+      analysis.close();
+    }
+  }
+}
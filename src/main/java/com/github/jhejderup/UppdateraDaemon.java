@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import com.github.jhejderup.BumpAnalysis.Outcome;
+import com.github.jhejderup.BumpAnalysis.Status;
+import com.github.jhejderup.analysis.CallerSearch;
+import com.github.jhejderup.artifact.maven.Coordinate;
+import com.github.jhejderup.artifact.maven.Resolver;
+import com.github.jhejderup.callgraph.WalaCallgraphConstructor;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a warm JVM that analyses dependency bumps on request, so the JVM
+ * start, WALA and the resolver are only paid for once.
+ * <p>
+ * Listens on localhost only:
+ * <ul>
+ * <li>`GET /health` answers `ok`</li>
+ * <li>`POST /analyze?project=&groupId=&artifactId=&old=&new=` analyses a
+ * bump and streams back its report, with the status in the
+ * `X-Uppdatera-Status` and `X-Uppdatera-Exit-Code` headers, and whether
+ * the call graph was `built` or `reused` in `X-Uppdatera-Callgraph`; other
+ * methods get a 405</li>
+ * </ul>
+ * Resolved artifacts, opened sources jars and the call graphs of recent
+ * projects stay in bounded memory caches between requests.
+ */
+public final class UppdateraDaemon {
+
+  private static Logger logger = LoggerFactory.getLogger(UppdateraDaemon.class);
+
+  private final HttpServer                                                  server;
+  private final ExecutorService                                             workers;
+  private final Resolver                                                    resolver;
+  private final BoundedCache<String, CompletableFuture<Optional<CallerSearch>>> graphs;
+
+  /**
+   * @param workers   number of requests handled at once
+   * @param maxGraphs number of call graphs kept in memory
+   */
+  public UppdateraDaemon(InetSocketAddress address, Resolver resolver,
+      int workers, int maxGraphs) throws IOException {
+    this.resolver = resolver;
+    this.graphs = new BoundedCache<>(maxGraphs);
+    this.workers = Executors.newFixedThreadPool(Math.max(1, workers));
+    this.server = HttpServer.create(address, 0);
+    this.server.setExecutor(this.workers);
+    this.server.createContext("/health", exchange -> {
+      try {
+        respond(exchange, 200, "ok");
+      } finally {
+        exchange.close();
+      }
+    });
+    this.server.createContext("/analyze", exchange -> {
+      try {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+          exchange.getResponseHeaders().set("Allow", "POST");
+          respond(exchange, 405, "use POST");
+          return;
+        }
+        analyze(exchange);
+      } catch (Exception e) {
+        logger.error("[Daemon] Request failed: " + e.toString());
+        // a started response can only be cut short
+        if (exchange.getResponseCode() == -1) {
+          respond(exchange, 500, e.toString());
+        }
+      } finally {
+        exchange.close();
+      }
+    });
+  }
+
+  //////////
+  /// uppdatera-daemon <args>
+  /// - [0] port : listens on localhost (default: 8585)
+  //////////
+  public static void main(String[] args) throws IOException {
+    var port = args.length > 0 ? Integer.parseInt(args[0]) : 8585;
+    var daemon = new UppdateraDaemon(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+        Resolver.shared(), Integer.getInteger("uppdatera.daemon.workers", 2),
+        Integer.getInteger("uppdatera.daemon.graphs", 4));
+    Runtime.getRuntime().addShutdownHook(new Thread(daemon::stop));
+    daemon.start();
+  }
+
+  public void start() {
+    server.start();
+    logger.info("[Daemon] Listening on " + server.getAddress());
+  }
+
+  public void stop() {
+    server.stop(0);
+    workers.shutdown();
+    try {
+      workers.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  private void analyze(HttpExchange exchange) throws IOException {
+    var params = query(exchange);
+    for (var name : new String[] { "project", "groupId", "artifactId", "old",
+        "new" }) {
+      if (!params.containsKey(name)) {
+        respond(exchange, 400, "missing parameter `" + name + "`");
+        return;
+      }
+    }
+
+    try (var analysis = new BumpAnalysis(
+        new Coordinate(params.get("groupId"), params.get("artifactId"),
+            params.get("old")),
+        new Coordinate(params.get("groupId"), params.get("artifactId"),
+            params.get("new")), resolver)) {
+      logger.info("[Daemon] Analysing " + analysis.oldCoord + " -> "
+          + analysis.newCoord.version);
+
+      var outcome = analysis.checkReferences(params.get("project"));
+      if (!outcome.isPresent()) {
+        outcome = analysis.resolve();
+      }
+      if (!outcome.isPresent()) {
+        Optional<CallerSearch> graph;
+        try (var stage = analysis.metrics.stage("callgraph")) {
+          graph = graph(params.get("project"),
+              analysis.getDependencyClassPath(),
+              exchange.getResponseHeaders());
+          graph.ifPresent(g -> stage.count("nodes", g.vertices())
+              .count("edges", g.edges()));
+        }
+        if (graph.isPresent()) {
+          var report = Files.createTempFile("report", ".md");
+          try {
+            outcome = Optional.of(analysis.analyze(graph.get(), report));
+            send(exchange, outcome.get());
+          } finally {
+            Files.deleteIfExists(report);
+          }
+          return;
+        }
+        outcome = Optional.of(Outcome.of(Status.FAILED));
+      }
+      send(exchange, outcome.get());
+    }
+  }
+
+  /**
+   * call graph of a project and dependency classpath, built once per content
+   * of the classpaths while it stays in memory; `headers` get whether it was
+   * built or reused
+   */
+  private Optional<CallerSearch> graph(String clpathProject,
+      String clpathDepz, Headers headers) {
+    var key = WalaCallgraphConstructor.cacheKey(clpathProject, clpathDepz)
+        .map(k -> (CallerSearch.isDemandDriven() ? "demand-" : "rta-") + k);
+    headers.set("X-Uppdatera-Callgraph", "built");
+    if (!key.isPresent()) {
+      return CallerSearch.build(clpathProject, clpathDepz);
+    }
+
+    var created = new CompletableFuture<Optional<CallerSearch>>();
+    var graph = graphs.computeIfAbsent(key.get(), k -> created);
+    if (graph == created) {
+      var built = Optional.<CallerSearch>empty();
+      try {
+        built = CallerSearch.build(clpathProject, clpathDepz);
+      } finally {
+        // failures are retried by the next request
+        created.complete(built);
+        if (!built.isPresent()) {
+          graphs.remove(key.get(), created);
+        }
+      }
+    } else {
+      logger.info("[Daemon] Reusing the call graph of " + clpathProject);
+      headers.set("X-Uppdatera-Callgraph", "reused");
+    }
+    return graph.join();
+  }
+
+  private static void send(HttpExchange exchange, Outcome outcome)
+      throws IOException {
+    var headers = exchange.getResponseHeaders();
+    headers.set("Content-Type", "text/markdown; charset=utf-8");
+    headers.set("X-Uppdatera-Status", outcome.status.name());
+    headers.set("X-Uppdatera-Exit-Code",
+        String.valueOf(outcome.status.exitCode));
+    headers.set("X-Uppdatera-Changed",
+        String.valueOf(outcome.changedFunctions));
+    headers.set("X-Uppdatera-Affected",
+        String.valueOf(outcome.affectedFunctions));
+
+    var code = outcome.status == Status.FAILED ? 500 : 200;
+    if (!outcome.report.isPresent()) {
+      exchange.sendResponseHeaders(code, -1);
+      return;
+    }
+    // chunked, the report is copied as it is read
+    exchange.sendResponseHeaders(code, 0);
+    try (var body = exchange.getResponseBody()) {
+      Files.copy(outcome.report.get(), body);
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int code, String text)
+      throws IOException {
+    var bytes = text.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders()
+        .set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(code, bytes.length);
+    try (var body = exchange.getResponseBody()) {
+      body.write(bytes);
+    }
+  }
+
+  private static Map<String, String> query(HttpExchange exchange)
+      throws UnsupportedEncodingException {
+    var params = new HashMap<String, String>();
+    var query = exchange.getRequestURI().getRawQuery();
+    if (query == null) {
+      return params;
+    }
+    for (var pair : query.split("&")) {
+      var eq = pair.indexOf('=');
+      if (eq > 0) {
+        params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"),
+            URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+      }
+    }
+    return params;
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.artifact.maven.Artifact;
+import com.github.jhejderup.diff.ast.AstComperator;
+import com.github.jhejderup.diff.ast.ChangeIndex;
+import com.github.jhejderup.diff.ast.ParallelDiffer;
+import com.github.jhejderup.diff.ast.SpoonModel;
+import com.github.jhejderup.diff.bytecode.BytecodeDiff;
+import com.github.jhejderup.diff.bytecode.BytecodeDiffer;
+import com.github.jhejderup.diff.file.FileDiff;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputes the changed methods between every two consecutive versions of
+ * a dependency in a folder in Maven repository layout, into the index that
+ * bumps of the dependency are then answered from (see {@link ChangeIndex}).
+ * <p>
+ * Versions are parsed concurrently. Every version is parsed once, into a
+ * model of the files changed to or from it that both of its pairs share, and
+ * only a few versions ahead of the oldest pending pair are parsed at a time.
+ * Pairs are diffed one after the other, as two diffs over a shared model
+ * would overwrite each other's trees; the files of a pair are compared on
+ * the workers.
+ */
+public class UppdateraIndex {
+
+  private static Logger logger = LoggerFactory.getLogger(UppdateraIndex.class);
+
+  //////////
+  /// uppdatera-index <args>
+  /// - [0] dependency : groupId:artifactId
+  /// - [1] repository : folder in Maven repository layout
+  /// - [2] index : output file (default: the index in the cache directory)
+  //////////
+  public static void main(String[] args) throws IOException {
+    assert args.length == 2 || args.length == 3;
+
+    var parts = args[0].split(":");
+    if (parts.length != 2) {
+      throw new IllegalArgumentException(
+          "expected groupId:artifactId, got `" + args[0] + "`");
+    }
+    var index = args.length > 2 ?
+        Paths.get(args[2]) :
+        ChangeIndex.file(parts[0], parts[1]);
+
+    var releases = releases(Paths.get(args[1]), parts[0], parts[1]);
+    try {
+      if (releases.size() < 2) {
+        logger.error("[Index] Found {} version(s) of {} with sources, nothing to index",
+            releases.size(), args[0]);
+        return;
+      }
+      logger.info("[Index] Diffing {} versions of {}", releases.size(), args[0]);
+
+      var deltas = diffAll(releases, ParallelDiffer.defaultWorkers());
+      var sha256s = new ArrayList<String>();
+      for (var release : releases) {
+        sha256s.add(CacheDirectory.sha256(release.sourcesJar));
+      }
+      ChangeIndex.write(index,
+          releases.stream().map(r -> r.version).collect(Collectors.toList()),
+          sha256s, deltas);
+      logger.info("[Index] Wrote {} delta(s) ({} failed) to {}", deltas.size(),
+          deltas.stream().filter(Objects::isNull).count(), index);
+    } finally {
+      releases.forEach(release -> Artifact.closeSources(release.sources));
+    }
+  }
+
+  /**
+   * versions of a dependency with a sources jar, oldest first
+   */
+  static List<Release> releases(Path repository, String groupId,
+      String artifactId) throws IOException {
+    var folder = repository.resolve(groupId.replace('.', '/'))
+        .resolve(artifactId);
+    if (!Files.isDirectory(folder)) {
+      return Collections.emptyList();
+    }
+    List<String> versions;
+    try (var list = Files.list(folder)) {
+      versions = list.filter(Files::isDirectory)
+          .map(dir -> dir.getFileName().toString())
+          .sorted(Comparator.comparing(ComparableVersion::new))
+          .collect(Collectors.toList());
+    }
+
+    var releases = new ArrayList<Release>();
+    for (var version : versions) {
+      var dir = folder.resolve(version);
+      var sourcesJar = dir.resolve(artifactId + "-" + version + "-sources.jar");
+      var binary = dir.resolve(artifactId + "-" + version + ".jar");
+      if (!Files.isRegularFile(sourcesJar)) {
+        logger.info("[Index] Skipping {}, no sources jar", version);
+        continue;
+      }
+      var sources = Artifact.openSources(sourcesJar);
+      if (sources.isPresent()) {
+        releases.add(new Release(version, sourcesJar, sources.get(),
+            Files.isRegularFile(binary) ?
+                Optional.of(binary) :
+                Optional.empty()));
+      }
+    }
+    return releases;
+  }
+
+  /**
+   * changed methods between consecutive releases, null for a pair that
+   * couldn't be diffed completely
+   */
+  static List<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>> diffAll(
+      List<Release> releases, int workers) {
+    var pool = Executors
+        .newFixedThreadPool(workers, new DaemonThreadFactory("uppdatera-index-"));
+    try {
+      ///
+      /// 1. Changed files of every pair, without parsing
+      ///
+      var steps = new ArrayList<CompletableFuture<Step>>();
+      for (int i = 0; i + 1 < releases.size(); i++) {
+        var from = releases.get(i);
+        var to = releases.get(i + 1);
+        steps.add(CompletableFuture.supplyAsync(() -> Step.of(from, to), pool));
+      }
+      var none = CompletableFuture.completedFuture(Step.NONE);
+
+      ///
+      /// 2. One model per version, shared by the pairs to and from it, and
+      ///    the diffs of every pair once both of its models are built
+      ///
+      var deltas = new ArrayList<CompletableFuture<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>>>();
+      CompletableFuture<SpoonModel> previous = null;
+      for (int k = 0; k < releases.size(); k++) {
+        var release = releases.get(k);
+        var before = k > 0 ? steps.get(k - 1) : none;
+        var after = k < steps.size() ? steps.get(k) : none;
+        // wait for older pairs, so parsed models don't pile up
+        var older = k - 1 - workers;
+        var gate = older >= 0 ?
+            deltas.get(older).handle((delta, e) -> null) :
+            CompletableFuture.completedFuture(null);
+        var model = before.thenCombine(after, Step::files)
+            .thenCombineAsync(gate, (files, ready) -> release.model(files),
+                pool);
+
+        if (previous != null) {
+          var step = steps.get(k - 1);
+          var from = releases.get(k - 1);
+          // GumTree keeps its trees in the metadata of the model's elements,
+          // so the pair before this one must be done with the shared model
+          var done = deltas.isEmpty() ?
+              CompletableFuture.completedFuture(null) :
+              deltas.get(deltas.size() - 1).handle((delta, e) -> null);
+          deltas.add(previous
+              .thenCombine(model, (src, dst) -> new SpoonModel[] { src, dst })
+              .thenCombineAsync(done, (models, ready) -> diff(from, release,
+                  step.join(), models[0], models[1], workers), pool));
+        }
+        previous = model;
+      }
+
+      var result = new ArrayList<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>>();
+      for (int i = 0; i < deltas.size(); i++) {
+        try {
+          result.add(deltas.get(i).join());
+        } catch (CompletionException e) {
+          logger.error("[Index] Failed to diff {} -> {}: {}",
+              releases.get(i).version, releases.get(i + 1).version,
+              e.getCause() == null ? e.toString() : e.getCause().toString());
+          result.add(null);
+        }
+      }
+      return result;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> diff(
+      Release from, Release to, Step step, SpoonModel src, SpoonModel dst,
+      int workers) {
+    var differ = new ParallelDiffer(workers, true, from.classPath());
+    var diff = BumpAnalysis
+        .retainChanged(differ.diff(step.files, src, dst, null), step.bytecode);
+    if (!diff.failures.isEmpty()) {
+      throw new IllegalStateException(
+          diff.failures.size() + " file(s) could not be compared");
+    }
+    logger.info("[Index] Diffed {} -> {}: {} changed method(s)", from.version,
+        to.version, diff.changedMethods.stream().mapToLong(Map::size).sum());
+    return diff.changedMethods;
+  }
+
+  static final class Release {
+    final String         version;
+    final Path           sourcesJar;
+    final Path           sources;
+    final Optional<Path> binary;
+
+    Release(String version, Path sourcesJar, Path sources,
+        Optional<Path> binary) {
+      this.version = version;
+      this.sourcesJar = sourcesJar;
+      this.sources = sources;
+      this.binary = binary;
+    }
+
+    String[] classPath() {
+      return binary.map(jar -> new String[] { jar.toString() })
+          .orElse(new String[0]);
+    }
+
+    /**
+     * one compilation of `files`, resolved against the release's jar
+     */
+    SpoonModel model(Collection<Path> files) {
+      try {
+        return new AstComperator(classPath()).buildModel(files);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }
+  }
+
+  /**
+   * the source files of a version pair to diff
+   */
+  static final class Step {
+    static final Step NONE = new Step(Collections.emptyList(),
+        Optional.empty());
+
+    final List<FileDiff>          files;
+    final Optional<BytecodeDiff> bytecode;
+
+    Step(List<FileDiff> files, Optional<BytecodeDiff> bytecode) {
+      this.files = files;
+      this.bytecode = bytecode;
+    }
+
+    static Step of(Release from, Release to) {
+      var bytecode = BytecodeDiffer.isEnabled() && from.binary
+          .isPresent() && to.binary.isPresent() ?
+          BytecodeDiffer.diff(from.binary.get(), to.binary.get()) :
+          Optional.<BytecodeDiff>empty();
+      var files = BumpAnalysis
+          .impactedFiles(from.sourcesJar, to.sourcesJar, from.sources,
+              to.sources, bytecode).collect(Collectors.toList());
+      return new Step(files, bytecode);
+    }
+
+    /**
+     * files of a version: the new files of the pair before it and the old
+     * files of the pair after it
+     */
+    static Set<Path> files(Step before, Step after) {
+      var files = new LinkedHashSet<Path>();
+      before.files.stream().filter(fd -> !fd.isFileRemoval())
+          .forEach(fd -> fd.dstFile.ifPresent(files::add));
+      after.files.forEach(fd -> fd.srcFile.ifPresent(files::add));
+      return files;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.WalaCallgraphConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Finds project callers of dependency methods.
+ */
+public interface CallerSearch {
+
+  /**
+   * caller path of every method, as [dependency method, ..., application
+   * method, application method], or an empty path if no project method calls
+   * it
+   */
+  Map<JVMIdentifier, List<JVMIdentifier>> searchAll(
+      Collection<JVMIdentifier> methodIDs);
+
+  /**
+   * internal names (e.g. `a/b/C`) of the dependency classes with a method
+   * that project code calls, directly or not; empty if the search can't tell
+   * without exploring the whole program
+   */
+  default Optional<Set<String>> reachableClasses() {
+    return Optional.empty();
+  }
+
+  /**
+   * methods in the graph (or visited so far, for a demand-driven search)
+   */
+  int vertices();
+
+  /**
+   * calls in the graph (or indexed so far, for a demand-driven search)
+   */
+  int edges();
+
+  /**
+   * `-Duppdatera.callgraph.mode=demand` selects the demand-driven search,
+   * the default (`rta`) a whole-program call graph
+   */
+  static boolean isDemandDriven() {
+    return "demand"
+        .equalsIgnoreCase(System.getProperty("uppdatera.callgraph.mode"));
+  }
+
+  /**
+   * search over a project and dependency classpath in the configured mode,
+   * empty if the class hierarchy or call graph can't be built
+   */
+  static Optional<CallerSearch> build(String clpathProject,
+      String clpathDepz) {
+    if (isDemandDriven()) {
+      return DemandDrivenSearch.build(clpathProject, clpathDepz)
+          .map(CallerSearch.class::cast);
+    }
+    var cg = WalaCallgraphConstructor.buildCHA(clpathProject, clpathDepz);
+    return cg == null ? Optional.empty() : Optional.of(new Reachability(cg));
+  }
+}
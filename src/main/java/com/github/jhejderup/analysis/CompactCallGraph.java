@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.ResolvedCall;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Dictionary-encoded call graph in compressed sparse row form.
+ * <p>
+ * Every method gets an int id; callers and callees of a vertex are slices of
+ * one int array each, delimited by an offset array. No WALA objects are kept
+ * once the graph is built.
+ */
+final class CompactCallGraph {
+
+  static final byte OTHER       = 0;
+  static final byte PRIMORDIAL  = 1;
+  static final byte EXTENSION   = 2;
+  static final byte APPLICATION = 3;
+
+  private static final String[] LOADER_NAMES = { "Other", "Primordial",
+      "Extension", "Application" };
+
+  final         JVMIdentifier[]             names;
+  final         byte[]                      loaders;
+  final         int[]                       callerOffsets;
+  final         int[]                       callers;
+  final         int[]                       calleeOffsets;
+  final         int[]                       callees;
+  private final Map<JVMIdentifier, Integer> ids;
+
+  private CompactCallGraph(JVMIdentifier[] names, byte[] loaders,
+      Map<JVMIdentifier, Integer> ids, int[] callerOffsets, int[] callers,
+      int[] calleeOffsets, int[] callees) {
+    this.names = names;
+    this.loaders = loaders;
+    this.ids = ids;
+    this.callerOffsets = callerOffsets;
+    this.callers = callers;
+    this.calleeOffsets = calleeOffsets;
+    this.callees = callees;
+  }
+
+  /**
+   * Vertices are numbered in order of first appearance (target before source)
+   * and a vertex keeps the class loader of the first reference seen for it.
+   * Callers are listed in call order, without duplicates.
+   */
+  static CompactCallGraph build(List<ResolvedCall> cg) {
+    var calls = cg.parallelStream().filter(call -> !Reachability
+        .getClassLoader(call.target).equals(ClassLoaderReference.Primordial))
+        .toArray(ResolvedCall[]::new);
+
+    //1. the expensive part: turning references into identifiers
+    var targetNames = new JVMIdentifier[calls.length];
+    var sourceNames = new JVMIdentifier[calls.length];
+    IntStream.range(0, calls.length).parallel().forEach(i -> {
+      targetNames[i] = Reachability.WALAToJVMIdentifier(calls[i].target);
+      sourceNames[i] = Reachability.WALAToJVMIdentifier(calls[i].source);
+    });
+
+    //2. dictionary encoding, sequential to keep the numbering deterministic
+    var ids = new HashMap<JVMIdentifier, Integer>();
+    var refs = new MethodReference[calls.length * 2];
+    var targets = new int[calls.length];
+    var sources = new int[calls.length];
+    for (int i = 0; i < calls.length; i++) {
+      targets[i] = encode(ids, refs, targetNames[i], calls[i].target);
+      sources[i] = encode(ids, refs, sourceNames[i], calls[i].source);
+    }
+
+    var size = ids.size();
+    var names = new JVMIdentifier[size];
+    var loaders = new byte[size];
+    ids.forEach((name, id) -> {
+      names[id] = name;
+      loaders[id] = loaderKind(refs[id]);
+    });
+
+    //3. a target only gets the callers of the reference it is known by
+    var valid = new boolean[calls.length];
+    IntStream.range(0, calls.length).parallel()
+        .forEach(i -> valid[i] = calls[i].target.equals(refs[targets[i]]));
+
+    //4. callers per target, and the same edges turned around
+    var reverse = toRows(size, targets, sources, valid);
+    var forward = toRows(size, reverse.columns, reverse.rows, null);
+
+    return new CompactCallGraph(names, loaders, ids, reverse.offsets,
+        reverse.columns, forward.offsets, forward.columns);
+  }
+
+  private static int encode(Map<JVMIdentifier, Integer> ids,
+      MethodReference[] refs, JVMIdentifier name, MethodReference ref) {
+    var id = ids.get(name);
+    if (id == null) {
+      id = ids.size();
+      ids.put(name, id);
+      refs[id] = ref;
+    }
+    return id;
+  }
+
+  private static byte loaderKind(MethodReference ref) {
+    var loader = Reachability.getClassLoader(ref);
+    if (loader.equals(ClassLoaderReference.Application)) {
+      return APPLICATION;
+    } else if (loader.equals(ClassLoaderReference.Extension)) {
+      return EXTENSION;
+    } else if (loader.equals(ClassLoaderReference.Primordial)) {
+      return PRIMORDIAL;
+    }
+    return OTHER;
+  }
+
+  /**
+   * Groups the edges `from[i] -> to[i]` by `from` (stable, so `to` stays in
+   * edge order) and drops repeated edges.
+   */
+  private static Rows toRows(int size, int[] from, int[] to,
+      boolean[] valid) {
+    //counting sort by row
+    var offsets = new int[size + 1];
+    for (int i = 0; i < from.length; i++) {
+      if (valid == null || valid[i]) {
+        offsets[from[i] + 1]++;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+    var cursor = Arrays.copyOf(offsets, size);
+    var columns = new int[offsets[size]];
+    for (int i = 0; i < from.length; i++) {
+      if (valid == null || valid[i]) {
+        columns[cursor[from[i]]++] = to[i];
+      }
+    }
+
+    //remove duplicates per row, keeping the first occurrence
+    var rows = new int[size][];
+    IntStream.range(0, size).parallel().forEach(
+        row -> rows[row] = distinct(columns, offsets[row], offsets[row + 1]));
+
+    var compacted = new int[size + 1];
+    for (int row = 0; row < size; row++) {
+      compacted[row + 1] = compacted[row] + rows[row].length;
+    }
+    var edgesFrom = new int[compacted[size]];
+    var edgesTo = new int[compacted[size]];
+    IntStream.range(0, size).parallel().forEach(row -> {
+      System.arraycopy(rows[row], 0, edgesTo, compacted[row], rows[row].length);
+      Arrays.fill(edgesFrom, compacted[row], compacted[row + 1], row);
+    });
+    return new Rows(compacted, edgesFrom, edgesTo);
+  }
+
+  private static int[] distinct(int[] columns, int from, int to) {
+    var row = Arrays.copyOfRange(columns, from, to);
+    if (row.length < 2) {
+      return row;
+    }
+    var sorted = row.clone();
+    Arrays.sort(sorted);
+    var duplicates = false;
+    for (int i = 1; i < sorted.length && !duplicates; i++) {
+      duplicates = sorted[i] == sorted[i - 1];
+    }
+    if (!duplicates) {
+      return row;
+    }
+
+    var unique = IntStream.of(sorted).distinct().toArray();
+    var emitted = new boolean[unique.length];
+    return IntStream.of(row).filter(v -> {
+      var idx = Arrays.binarySearch(unique, v);
+      if (emitted[idx]) {
+        return false;
+      }
+      emitted[idx] = true;
+      return true;
+    }).toArray();
+  }
+
+  private static final class Rows {
+    final int[] offsets;
+    final int[] rows;
+    final int[] columns;
+
+    Rows(int[] offsets, int[] rows, int[] columns) {
+      this.offsets = offsets;
+      this.rows = rows;
+      this.columns = columns;
+    }
+  }
+
+  int size() {
+    return this.names.length;
+  }
+
+  int edges() {
+    return this.callers.length;
+  }
+
+  /**
+   * id of a method, or -1 if it is not part of the graph
+   */
+  int id(JVMIdentifier methodID) {
+    var id = this.ids.get(methodID);
+    return id == null ? -1 : id;
+  }
+
+  String loaderName(int vertex) {
+    return LOADER_NAMES[this.loaders[vertex]];
+  }
+}
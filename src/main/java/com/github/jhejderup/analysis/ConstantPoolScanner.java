@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.analysis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+
+/**
+ * Collects the classes a classpath refers to, straight from the constant
+ * pools of its class files.
+ * <p>
+ * Only the constant pool is read (no methods, attributes or bytecode), class
+ * files in folders are memory-mapped and scanned in parallel, so even large
+ * projects take a fraction of a second. A class the project extends,
+ * implements, instantiates or calls always has a class entry in some constant
+ * pool, so a dependency none of whose classes is referenced can't be reached
+ * from the project (short of reflection, which the call graph misses too).
+ */
+public final class ConstantPoolScanner {
+
+  private static Logger logger = LoggerFactory
+      .getLogger(ConstantPoolScanner.class);
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final int UTF8                 = 1;
+  private static final int INTEGER              = 3;
+  private static final int FLOAT                = 4;
+  private static final int LONG                 = 5;
+  private static final int DOUBLE               = 6;
+  private static final int CLASS                = 7;
+  private static final int STRING               = 8;
+  private static final int FIELD_REF            = 9;
+  private static final int METHOD_REF           = 10;
+  private static final int INTERFACE_METHOD_REF = 11;
+  private static final int NAME_AND_TYPE        = 12;
+  private static final int METHOD_HANDLE        = 15;
+  private static final int METHOD_TYPE          = 16;
+  private static final int DYNAMIC              = 17;
+  private static final int INVOKE_DYNAMIC       = 18;
+  private static final int MODULE               = 19;
+  private static final int PACKAGE              = 20;
+
+  private ConstantPoolScanner() {
+  }
+
+  /**
+   * check on by default, disable with `-Duppdatera.referenceCheck=false`
+   */
+  public static boolean isEnabled() {
+    return !"false"
+        .equalsIgnoreCase(System.getProperty("uppdatera.referenceCheck"));
+  }
+
+  /**
+   * classes (internal names, e.g. `a/b/C`) referred to by the class files of
+   * a classpath
+   */
+  public static final class References {
+    public final  Set<String>   classes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger files   = new AtomicInteger();
+
+    /**
+     * number of class files scanned
+     */
+    public int files() {
+      return files.get();
+    }
+
+    /**
+     * the referenced classes among `classes`
+     */
+    public Set<String> classesIn(Set<String> classes) {
+      return this.classes.stream().filter(classes::contains)
+          .collect(Collectors.toSet());
+    }
+  }
+
+  /**
+   * references of every class file in the folders and jars of a
+   * `:`-separated classpath, empty if one can't be read
+   */
+  public static Optional<References> scan(String classpath) {
+    var refs = new References();
+    try {
+      for (var entry : classpath.split(":")) {
+        if (entry.isEmpty()) {
+          continue;
+        }
+        var path = Paths.get(entry);
+        if (Files.isDirectory(path)) {
+          scanFolder(path, refs);
+        } else if (Files.isRegularFile(path)) {
+          scanJar(path, refs);
+        }
+      }
+    } catch (IOException | UncheckedIOException e) {
+      logger.error("[ConstantPoolScanner] Failed to scan " + classpath + ": "
+          + e.toString());
+      return Optional.empty();
+    }
+    logger.info("[ConstantPoolScanner] {} classes referenced by {} class files",
+        refs.classes.size(), refs.files());
+    return Optional.of(refs);
+  }
+
+  /**
+   * internal names of the classes of a jar, from its central directory
+   */
+  public static Optional<Set<String>> classesOf(Path jar) {
+    var classes = new HashSet<String>();
+    try (var zip = new ZipFile(jar.toFile())) {
+      var entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        var name = entries.nextElement().getName();
+        if (isClassFile(name)) {
+          classes.add(name.substring(0, name.length() - 6));
+        }
+      }
+    } catch (IOException e) {
+      logger.error("[ConstantPoolScanner] Failed to read " + jar + ": " + e
+          .toString());
+      return Optional.empty();
+    }
+    return Optional.of(classes);
+  }
+
+  private static boolean isClassFile(String name) {
+    return name.endsWith(".class") && !name.startsWith("META-INF/") && !name
+        .endsWith("module-info.class");
+  }
+
+  private static void scanFolder(Path folder, References refs)
+      throws IOException {
+    List<Path> files;
+    try (var walk = Files.walk(folder)) {
+      files = walk.filter(f -> isClassFile(f.getFileName().toString()))
+          .filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    files.parallelStream().forEach(file -> {
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        scanClass(file.toString(),
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+            refs);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private static void scanJar(Path jar, References refs) throws IOException {
+    try (var zip = new ZipFile(jar.toFile())) {
+      var entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        var entry = entries.nextElement();
+        if (entry.isDirectory() || !isClassFile(entry.getName())) {
+          continue;
+        }
+        try (var in = zip.getInputStream(entry)) {
+          scanClass(entry.getName(), ByteBuffer.wrap(readAll(in)), refs);
+        }
+      }
+    }
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    var out = new ByteArrayOutputStream();
+    var buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  ///
+  /// Constant pool: one pass for the offsets of the entries, then only the
+  /// names of classes are decoded (the class of a method reference has a
+  /// class entry of its own)
+  ///
+
+  static void scanClass(String name, ByteBuffer buf, References refs) {
+    try {
+      if (buf.getInt(0) != MAGIC) {
+        logger.warn("[ConstantPoolScanner] {} is not a class file", name);
+        return;
+      }
+      var count = buf.getShort(8) & 0xFFFF;
+      var tags = new byte[count];
+      var offsets = new int[count];
+      var pos = 10;
+      for (int i = 1; i < count; i++) {
+        var tag = buf.get(pos);
+        tags[i] = tag;
+        offsets[i] = pos + 1;
+        pos += 1 + entrySize(tag, buf, pos + 1);
+        if (tag == LONG || tag == DOUBLE) {
+          i++;
+        }
+      }
+
+      for (int i = 1; i < count; i++) {
+        if (tags[i] == CLASS) {
+          refs.classes.add(elementType(utf8(buf, offsets, u2(buf, offsets[i]))));
+        }
+      }
+      refs.files.incrementAndGet();
+    } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+      logger.warn("[ConstantPoolScanner] Unable to read {}: {}", name,
+          e.toString());
+    }
+  }
+
+  private static int entrySize(byte tag, ByteBuffer buf, int pos) {
+    switch (tag) {
+    case UTF8:
+      return 2 + u2(buf, pos);
+    case CLASS:
+    case STRING:
+    case METHOD_TYPE:
+    case MODULE:
+    case PACKAGE:
+      return 2;
+    case METHOD_HANDLE:
+      return 3;
+    case INTEGER:
+    case FLOAT:
+    case FIELD_REF:
+    case METHOD_REF:
+    case INTERFACE_METHOD_REF:
+    case NAME_AND_TYPE:
+    case DYNAMIC:
+    case INVOKE_DYNAMIC:
+      return 4;
+    case LONG:
+    case DOUBLE:
+      return 8;
+    default:
+      throw new IllegalArgumentException("unknown constant pool tag " + tag);
+    }
+  }
+
+  private static int u2(ByteBuffer buf, int pos) {
+    return buf.getShort(pos) & 0xFFFF;
+  }
+
+  /**
+   * `[[La/b/C;` refers to `a/b/C`
+   */
+  private static String elementType(String className) {
+    if (!className.startsWith("[")) {
+      return className;
+    }
+    var start = className.lastIndexOf('[') + 1;
+    return className.charAt(start) == 'L' ?
+        className.substring(start + 1, className.length() - 1) :
+        className.substring(start);
+  }
+
+  /**
+   * modified UTF-8, as in {@link java.io.DataInput#readUTF()}
+   */
+  private static String utf8(ByteBuffer buf, int[] offsets, int index) {
+    var pos = offsets[index];
+    var length = u2(buf, pos);
+    pos += 2;
+    var end = pos + length;
+    var chars = new char[length];
+    var n = 0;
+    while (pos < end) {
+      int b = buf.get(pos) & 0xFF;
+      if (b < 0x80) {
+        chars[n++] = (char) b;
+        pos++;
+      } else if ((b & 0xE0) == 0xC0) {
+        chars[n++] = (char) (((b & 0x1F) << 6) | (buf.get(pos + 1) & 0x3F));
+        pos += 2;
+      } else {
+        chars[n++] = (char) (((b & 0x0F) << 12)
+            | ((buf.get(pos + 1) & 0x3F) << 6) | (buf.get(pos + 2) & 0x3F));
+        pos += 3;
+      }
+    }
+    return new String(chars, 0, n);
+  }
+}
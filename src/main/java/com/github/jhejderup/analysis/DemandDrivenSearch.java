@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.WalaCallgraphConstructor;
+import com.github.jhejderup.events.Events;
+import com.ibm.wala.classLoader.IBytecodeMethod;
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.classLoader.ShrikeClass;
+import com.ibm.wala.ipa.cha.IClassHierarchy;
+import com.ibm.wala.shrikeCT.ClassConstants;
+import com.ibm.wala.shrikeCT.InvalidClassFileException;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import com.ibm.wala.types.Selector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Caller search that starts at the changed dependency methods and walks
+ * callers backwards through the class hierarchy, instead of building a call
+ * graph of the whole program first.
+ * <p>
+ * The callers of a method are the call sites whose target resolves to it,
+ * or, for virtual and interface calls, whose declared class is a supertype
+ * of a class that has the method, declared or inherited (CHA). Only classes whose constant pool names a
+ * method of the same name are decoded, and only once per method name; a
+ * search stops at the first project method it reaches.
+ * <p>
+ * Calls from JDK code (e.g. callbacks) and through method references are
+ * not followed, and dispatch is bounded by the class hierarchy rather than
+ * by the instantiated types, so paths may differ from those of the RTA call
+ * graph.
+ */
+public final class DemandDrivenSearch implements CallerSearch {
+
+  private static Logger logger = LoggerFactory
+      .getLogger(DemandDrivenSearch.class);
+
+  private final IClassHierarchy cha;
+  private final List<IClass>    classes = new ArrayList<>();
+
+  private Map<String, List<IClass>>     classesByCalledName;
+  private Map<Selector, List<CallSite>> sitesBySelector = new HashMap<>();
+  private Map<IMethod, List<IMethod>>   callers         = new HashMap<>();
+  private int                           indexedSites;
+
+  public DemandDrivenSearch(IClassHierarchy cha) {
+    this.cha = cha;
+    for (var klass : cha) {
+      if (!klass.getClassLoader().getReference()
+          .equals(ClassLoaderReference.Primordial)) {
+        classes.add(klass);
+      }
+    }
+    logger.info("[DemandDrivenSearch] {} project and dependency classes",
+        classes.size());
+  }
+
+  public static Optional<DemandDrivenSearch> build(String clpathProject,
+      String clpathDepz) {
+    try {
+      return Optional.of(new DemandDrivenSearch(WalaCallgraphConstructor
+          .makeClassHierarchy(clpathProject, clpathDepz)));
+    } catch (Exception e) {
+      logger.error("[DemandDrivenSearch] Failed to build the class hierarchy: "
+          + e.toString());
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public synchronized int vertices() {
+    return callers.size();
+  }
+
+  @Override
+  public synchronized int edges() {
+    return indexedSites;
+  }
+
+  /**
+   * WALA's lookups cache lazily and aren't thread-safe, so searches don't
+   * run concurrently
+   */
+  @Override
+  public synchronized Map<JVMIdentifier, List<JVMIdentifier>> searchAll(
+      Collection<JVMIdentifier> methodIDs) {
+    var paths = new LinkedHashMap<JVMIdentifier, List<JVMIdentifier>>();
+    for (var methodID : methodIDs) {
+      if (!paths.containsKey(methodID)) {
+        paths.put(methodID, search(methodID));
+      }
+    }
+    return paths;
+  }
+
+  public synchronized List<JVMIdentifier> search(JVMIdentifier methodID) {
+    var event = Events.reachabilityQuery();
+    var root = method(methodID);
+    if (root == null) {
+      event.commit(methodID, 0, 0);
+      return new ArrayList<>();
+    }
+
+    ///
+    /// Search: breadth first over callers, remembering who reached whom
+    ///
+    var parent = new HashMap<IMethod, IMethod>();
+    var queue = new ArrayDeque<IMethod>();
+    parent.put(root, null);
+    queue.add(root);
+
+    while (!queue.isEmpty()) {
+      var method = queue.poll();
+      for (var caller : callersOf(method)) {
+        if (parent.containsKey(caller)) {
+          continue;
+        }
+        parent.put(caller, method);
+        if (isApplication(caller)) {
+          var path = toPath(parent, caller);
+          event.commit(methodID, path.size(), parent.size());
+          return path;
+        }
+        queue.add(caller);
+      }
+    }
+    event.commit(methodID, 0, parent.size());
+    return new ArrayList<>();
+  }
+
+  private IMethod method(JVMIdentifier methodID) {
+    var ref = MethodReference.findOrCreate(ClassLoaderReference.Extension,
+        methodID.clazzName,
+        methodID.methodName.replace("&lt;", "<").replace("&gt;", ">"),
+        methodID.methodDesc);
+    var method = cha.resolveMethod(ref);
+    if (method == null) {
+      logger.info(
+          "[search] the function `" + methodID + "` is not in the dependency");
+      return null;
+    }
+    if (isApplication(method)) {
+      logger.error("[search] the function `" + methodID
+          + "` is not a dependency node (e.g., Extension type)");
+      return null;
+    }
+    return method;
+  }
+
+  private static boolean isApplication(IMethod method) {
+    return method.getDeclaringClass().getClassLoader().getReference()
+        .equals(ClassLoaderReference.Application);
+  }
+
+  private static List<JVMIdentifier> toPath(Map<IMethod, IMethod> parent,
+      IMethod caller) {
+    var path = new ArrayList<JVMIdentifier>();
+    for (var method = caller; method != null; method = parent.get(method)) {
+      path.add(Reachability.WALAToJVMIdentifier(method.getReference()));
+    }
+    Collections.reverse(path);
+    //the application node closes the path twice
+    path.add(path.get(path.size() - 1));
+    return path;
+  }
+
+  ///
+  /// Callers, indexed on demand
+  ///
+
+  private List<IMethod> callersOf(IMethod method) {
+    var found = callers.get(method);
+    if (found != null) {
+      return found;
+    }
+    var unique = new LinkedHashSet<IMethod>();
+    var inheritors = inheritors(method);
+    for (var site : sites(method.getSelector())) {
+      if (dispatchesTo(site, method, inheritors)) {
+        unique.add(site.caller);
+      }
+    }
+    found = new ArrayList<>(unique);
+    callers.put(method, found);
+    return found;
+  }
+
+  private boolean dispatchesTo(CallSite site, IMethod method,
+      List<IClass> inheritors) {
+    if (method.equals(site.resolve(cha))) {
+      return true;
+    }
+    if (!site.dispatch) {
+      return false;
+    }
+    var declared = cha.lookupClass(site.target.getDeclaringClass());
+    if (declared == null) {
+      return false;
+    }
+    for (var klass : inheritors) {
+      if (cha.isAssignableFrom(declared, klass)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * the method's class and its subclasses (or implementors) that don't
+   * override it, i.e. the receivers a virtual call can dispatch to it from
+   */
+  private List<IClass> inheritors(IMethod method) {
+    var klass = method.getDeclaringClass();
+    var subclasses = klass.isInterface() ?
+        cha.getImplementors(klass.getReference()) :
+        cha.computeSubClasses(klass.getReference());
+    var inheritors = new ArrayList<IClass>();
+    inheritors.add(klass);
+    for (var subclass : subclasses) {
+      if (!subclass.equals(klass) && !subclass.isInterface() && method
+          .equals(subclass.getMethod(method.getSelector()))) {
+        inheritors.add(subclass);
+      }
+    }
+    return inheritors;
+  }
+
+  private List<CallSite> sites(Selector selector) {
+    var found = sitesBySelector.get(selector);
+    if (found != null) {
+      return found;
+    }
+    found = new ArrayList<>();
+    var candidates = classesCalling(selector.getName().toString());
+    for (var klass : candidates) {
+      for (var method : klass.getDeclaredMethods()) {
+        if (!(method instanceof IBytecodeMethod) || method.isAbstract()
+            || method.isNative()) {
+          continue;
+        }
+        try {
+          for (var site : ((IBytecodeMethod<?>) method).getCallSites()) {
+            if (site.getDeclaredTarget().getSelector().equals(selector)) {
+              found.add(new CallSite(method, site.getDeclaredTarget(),
+                  site.isDispatch()));
+            }
+          }
+        } catch (InvalidClassFileException e) {
+          logger.warn("[DemandDrivenSearch] Skipping " + method + ": " + e
+              .toString());
+        }
+      }
+    }
+    indexedSites += found.size();
+    sitesBySelector.put(selector, found);
+    return found;
+  }
+
+  /**
+   * classes whose constant pool refers to a method called `name`, found with
+   * one pass over the constant pools
+   */
+  private List<IClass> classesCalling(String name) {
+    if (classesByCalledName == null) {
+      classesByCalledName = new HashMap<>();
+      for (var klass : classes) {
+        for (var called : calledNames(klass)) {
+          classesByCalledName.computeIfAbsent(called, n -> new ArrayList<>())
+              .add(klass);
+        }
+      }
+    }
+    return classesByCalledName.getOrDefault(name, Collections.emptyList());
+  }
+
+  private static Set<String> calledNames(IClass klass) {
+    var names = new HashSet<String>();
+    if (!(klass instanceof ShrikeClass)) {
+      return names;
+    }
+    try {
+      var cp = ((ShrikeClass) klass).getReader().getCP();
+      for (int i = 1; i < cp.getItemCount(); i++) {
+        var type = cp.getItemType(i);
+        if (type == ClassConstants.CONSTANT_MethodRef
+            || type == ClassConstants.CONSTANT_InterfaceMethodRef) {
+          names.add(cp.getCPRefName(i));
+        }
+      }
+    } catch (InvalidClassFileException | IllegalArgumentException e) {
+      logger.warn("[DemandDrivenSearch] Can't read the constant pool of "
+          + klass + ": " + e.toString());
+    }
+    return names;
+  }
+
+  private static final class CallSite {
+    final IMethod         caller;
+    final MethodReference target;
+    final boolean         dispatch;
+    private IMethod       resolved;
+    private boolean       isResolved;
+
+    CallSite(IMethod caller, MethodReference target, boolean dispatch) {
+      this.caller = caller;
+      this.target = target;
+      this.dispatch = dispatch;
+    }
+
+    IMethod resolve(IClassHierarchy cha) {
+      if (!isResolved) {
+        resolved = cha.resolveMethod(target);
+        isResolved = true;
+      }
+      return resolved;
+    }
+  }
+}
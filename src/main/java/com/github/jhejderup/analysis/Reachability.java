@@ -19,113 +19,266 @@ package com.github.jhejderup.analysis;
 
 import com.github.jhejderup.artifact.JVMIdentifier;
 import com.github.jhejderup.callgraph.ResolvedCall;
+import com.github.jhejderup.events.Events;
 import com.ibm.wala.types.ClassLoaderReference;
 import com.ibm.wala.types.MethodReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-public final class Reachability {
+public final class Reachability implements CallerSearch {
 
-  private static Logger                                      logger = LoggerFactory
+  private static Logger           logger = LoggerFactory
       .getLogger(Reachability.class);
-  private final  Map<MethodReference, List<MethodReference>> graph;
-  private final  Map<JVMIdentifier, MethodReference>         lookup;
+  private final  CompactCallGraph graph;
+  private volatile int[]          nextHop;
 
   public Reachability(List<ResolvedCall> cg) {
-    this.graph = new HashMap<>();
-    this.lookup = new HashMap<>();
+    this.graph = CompactCallGraph.build(cg);
+    logger.info("[Reachability] {} vertices and {} edges", graph.size(),
+        graph.edges());
+  }
 
-    cg.stream().filter(call -> !getClassLoader(call.target)
-        .equals(ClassLoaderReference.Primordial)).forEach(call -> {
-      //populate lookup table
-      var target = WALAToJVMIdentifier(call.target);
-      var source = WALAToJVMIdentifier(call.source);
+  @Override
+  public int vertices() {
+    return graph.size();
+  }
 
-      if (!this.lookup.containsKey(target)) {
-        this.lookup.put(target, call.target);
-      }
-      if (!lookup.containsKey(source)) {
-        this.lookup.put(source, call.source);
-      }
-      //populate a "reverse graph"
-      if (this.graph.containsKey(call.target)) {
-        this.graph.get(call.target).add(call.source);
-      } else {
-        this.graph.put(call.target, Stream.of(call.source).collect(Collectors.toList()));
-      }
-    });
+  @Override
+  public int edges() {
+    return graph.edges();
   }
 
+  /**
+   * canonical identifier of a WALA method
+   */
   public static JVMIdentifier WALAToJVMIdentifier(MethodReference ref) {
-    return new JVMIdentifier(ref.getDeclaringClass().getName().toString(),
-        ref.getName().toString(), ref.getDescriptor().toString(),Optional.empty());
+    return JVMIdentifier.of(ref.getDeclaringClass().getName().toString(),
+        ref.getName().toString(), ref.getDescriptor().toString());
   }
 
   public static ClassLoaderReference getClassLoader(MethodReference m) {
     return m.getDeclaringClass().getClassLoader();
   }
 
-  public List<JVMIdentifier> search(JVMIdentifier methodID) {
-
+  /**
+   * vertex of a dependency method, or -1 (after logging why) if we can't
+   * search from it
+   */
+  private int root(JVMIdentifier methodID) {
     ///
     /// Validate node
     ///
-    if (!this.lookup.containsKey(methodID)) {
+    var root = this.graph.id(methodID);
+    if (root < 0) {
       logger.info(
           "[search] the function `" + methodID + "` is not called by the user");
-      return new ArrayList<>();
+      return -1;
     }
 
-    var root = this.lookup.get(methodID);
-
-    if (!getClassLoader(root).equals(ClassLoaderReference.Extension)) {
+    if (this.graph.loaders[root] != CompactCallGraph.EXTENSION) {
       logger.error("[search] the function `" + methodID
-          + "` is not a dependency node (e.g., Extension type), it has the following type " + getClassLoader(root).getName().toString());
-      return new ArrayList<>();
+          + "` is not a dependency node (e.g., Extension type), it has the following type " + this.graph.loaderName(root));
+      return -1;
+    }
+    return root;
+  }
+
+  private List<JVMIdentifier> toPath(int[] vertices, int length) {
+    var path = new ArrayList<JVMIdentifier>(length + 1);
+    for (int i = 0; i < length; i++) {
+      path.add(this.graph.names[vertices[i]]);
+    }
+    //the application node closes the path twice
+    path.add(this.graph.names[vertices[length - 1]]);
+    return path;
+  }
+
+  public List<JVMIdentifier> search(JVMIdentifier methodID) {
+    return search(methodID, Integer.MAX_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Shortest caller path from a dependency method to the application, as
+   * [dependency method, ..., application method, application method].
+   * <p>
+   * The search gives up (and returns an empty path) once paths would get
+   * longer than `maxDepth` calls or more than `maxNodes` methods have been
+   * visited.
+   */
+  public List<JVMIdentifier> search(JVMIdentifier methodID, int maxDepth,
+      int maxNodes) {
+    var event = Events.reachabilityQuery();
+
+    var root = root(methodID);
+    if (root < 0) {
+      return committed(event, methodID, new ArrayList<>(), 0);
     }
 
     ///
-    /// Search
+    /// Search: every vertex is queued once, remembering who queued it
     ///
-    var queue = new LinkedList<List<JVMIdentifier>>();
-    var visited = new HashSet<JVMIdentifier>();
-    queue.add(Stream.of(methodID).collect(Collectors.toList()));
-
-    while (queue.size() > 0) {
-      // Get first path in the queue
-      var path = queue.pop();
-
-      // Get the last node of that path
-      var vertexName = path.get(path.size() - 1);
-      var vertex = this.lookup.get(vertexName);
-
-      //is this an application node?
-      if (getClassLoader(vertex).equals(ClassLoaderReference.Application)) {
-        var appNode = WALAToJVMIdentifier(vertex);
-        if(!appNode.equals(vertexName)){
-          path.add(vertexName);
-        }
-        path.add(WALAToJVMIdentifier(vertex));
-        return path;
-      } else if (!visited.contains(vertexName)) {
-        //is it the last node? (e.g., has no adjacent nodes), then none to queue
-        if (this.graph.containsKey(vertex)) {
-          var neighbours = this.graph.get(vertex);
-          for (var neighbour : neighbours) {
-            var new_path = new ArrayList<>(path);
-            new_path.add(WALAToJVMIdentifier(neighbour));
-            //add to end of the list
-            queue.add(new_path);
+    var size = this.graph.size();
+    var parent = new int[size];
+    var visited = new boolean[size];
+    var queue = new int[size];
+    int head = 0, tail = 0;
+    visited[root] = true;
+    parent[root] = -1;
+    queue[tail++] = root;
+
+    for (int depth = 1; head < tail && depth <= maxDepth; depth++) {
+      //expand one level of callers
+      for (int levelEnd = tail; head < levelEnd; ) {
+        var vertex = queue[head++];
+        for (int i = this.graph.callerOffsets[vertex];
+             i < this.graph.callerOffsets[vertex + 1]; i++) {
+          var caller = this.graph.callers[i];
+          if (visited[caller]) {
+            continue;
+          }
+          visited[caller] = true;
+          parent[caller] = vertex;
+
+          //the first application node queued is the first one reached
+          if (this.graph.loaders[caller] == CompactCallGraph.APPLICATION) {
+            return committed(event, methodID, toPath(parent, caller, depth),
+                tail + 1);
           }
+          if (tail == maxNodes) {
+            logger.info("[search] gave up on `" + methodID + "` after "
+                + maxNodes + " visited functions");
+            return committed(event, methodID, new ArrayList<>(), tail);
+          }
+          queue[tail++] = caller;
+        }
+      }
+    }
+    if (head < tail) {
+      logger.info("[search] gave up on `" + methodID
+          + "`, no application caller within " + maxDepth + " calls");
+    }
+    return committed(event, methodID, new ArrayList<>(), tail);
+  }
+
+  private static List<JVMIdentifier> committed(
+      Events.ReachabilityQuery event, JVMIdentifier methodID,
+      List<JVMIdentifier> path, int visited) {
+    event.commit(methodID, path.size(), visited);
+    return path;
+  }
+
+  private List<JVMIdentifier> toPath(int[] parent, int vertex, int depth) {
+    var vertices = new int[depth + 1];
+    for (int i = depth; i >= 0; i--, vertex = parent[vertex]) {
+      vertices[i] = vertex;
+    }
+    return toPath(vertices, vertices.length);
+  }
+
+  /**
+   * Shortest caller path of every given method in a single traversal.
+   * <p>
+   * Instead of one backward search per method, all application nodes are
+   * expanded together along the call edges, which records for every vertex
+   * the next hop towards its nearest application caller. A path then follows
+   * those hops and has the same shape (and length) as the one returned by
+   * {@link #search(JVMIdentifier)}; when several callers are equally near, the
+   * chosen one may differ.
+   */
+  @Override
+  public Map<JVMIdentifier, List<JVMIdentifier>> searchAll(
+      Collection<JVMIdentifier> methodIDs) {
+    var nextHop = nearestApplicationCallers();
+    var paths = new LinkedHashMap<JVMIdentifier, List<JVMIdentifier>>();
+    var buffer = new int[16];
+
+    for (var methodID : methodIDs) {
+      if (paths.containsKey(methodID)) {
+        continue;
+      }
+      //the traversal is shared, a query only visits the hops of its path
+      var event = Events.reachabilityQuery();
+      var root = root(methodID);
+      if (root < 0 || nextHop[root] < 0) {
+        paths.put(methodID, committed(event, methodID, new ArrayList<>(),
+            root < 0 ? 0 : 1));
+        continue;
+      }
+
+      var length = 0;
+      for (int vertex = root; vertex >= 0; vertex = nextHop[vertex]) {
+        if (length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, length * 2);
+        }
+        buffer[length++] = vertex;
+        if (this.graph.loaders[vertex] == CompactCallGraph.APPLICATION) {
+          break;
+        }
+      }
+      paths.put(methodID,
+          committed(event, methodID, toPath(buffer, length), length));
+    }
+    return paths;
+  }
+
+  @Override
+  public Optional<Set<String>> reachableClasses() {
+    var nextHop = nearestApplicationCallers();
+    var classes = new HashSet<String>();
+    for (int vertex = 0; vertex < nextHop.length; vertex++) {
+      if (nextHop[vertex] >= 0
+          && this.graph.loaders[vertex] == CompactCallGraph.EXTENSION) {
+        classes.add(this.graph.names[vertex].clazzName.substring(1));
+      }
+    }
+    return Optional.of(classes);
+  }
+
+  /**
+   * next vertex towards the nearest application caller, -1 for application
+   * vertices and vertices without one; computed once, the graph never changes
+   */
+  private int[] nearestApplicationCallers() {
+    var cached = this.nextHop;
+    if (cached == null) {
+      cached = computeNearestApplicationCallers();
+      this.nextHop = cached;
+    }
+    return cached;
+  }
+
+  private int[] computeNearestApplicationCallers() {
+    var size = this.graph.size();
+    var nextHop = new int[size];
+    Arrays.fill(nextHop, -1);
+
+    ///
+    /// Multi-source BFS from all application vertices
+    ///
+    var queue = new int[size];
+    var visited = new boolean[size];
+    int head = 0, tail = 0;
+    for (int vertex = 0; vertex < size; vertex++) {
+      if (this.graph.loaders[vertex] == CompactCallGraph.APPLICATION) {
+        visited[vertex] = true;
+        queue[tail++] = vertex;
+      }
+    }
+
+    while (head < tail) {
+      var vertex = queue[head++];
+      for (int i = this.graph.calleeOffsets[vertex];
+           i < this.graph.calleeOffsets[vertex + 1]; i++) {
+        var callee = this.graph.callees[i];
+        if (!visited[callee]) {
+          visited[callee] = true;
+          nextHop[callee] = vertex;
+          queue[tail++] = callee;
         }
-        // Mark node as visited!
-        visited.add(vertexName);
       }
     }
-    return new ArrayList<>();
+    return nextHop;
   }
 }
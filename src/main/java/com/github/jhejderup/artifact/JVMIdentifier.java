@@ -25,17 +25,39 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.reference.CtArrayTypeReference;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+/**
+ * Class, name and descriptor of a JVM method.
+ * <p>
+ * Identifiers are immutable and canonical: {@link #of} returns the same
+ * instance for the same method while any is in use, the hash is computed
+ * once and equality compares the components (after an identity check), so
+ * using identifiers as map keys never formats a string. The interned
+ * instances are weakly held, so long-running batch and daemon JVMs don't
+ * keep every identifier they have seen.
+ */
 public final class JVMIdentifier {
 
-  private static Logger              logger     = LoggerFactory
+  private static final String SPOON_KEY = "uppdatera.jvmidentifier";
+
+  private static Logger                                      logger     = LoggerFactory
       .getLogger(JVMIdentifier.class);
-  private static Map<String, String> spoonToJVM = new HashMap<>();
+  private static Map<String, String>                         spoonToJVM = new HashMap<>();
+  /**
+   * weak maps per stripe of the hash, so concurrent workers rarely wait on
+   * each other
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<JVMIdentifier, WeakReference<JVMIdentifier>>[] interned = new Map[64];
 
   static {
+    for (int i = 0; i < interned.length; i++) {
+      interned[i] = new WeakHashMap<>();
+    }
     spoonToJVM.put("byte", "B");
     spoonToJVM.put("char", "C");
     spoonToJVM.put("double", "D");
@@ -47,22 +69,48 @@ public final class JVMIdentifier {
     spoonToJVM.put("void", "V");
   }
 
-  public final String                 clazzName;
-  public final String                 methodName;
-  public final String                 methodDesc;
-  public final Optional<CtExecutable> method;
-
-  public JVMIdentifier(String clazzName, String methodName, String methodDesc,
-      Optional<CtExecutable> method) {
-    //TODO: Remove method, CtExecutable is specific to Spoon and instead create an interface
+  public final  String clazzName;
+  public final  String methodName;
+  public final  String methodDesc;
+  private final int    hash;
 
+  private JVMIdentifier(String clazzName, String methodName,
+      String methodDesc) {
     this.clazzName = clazzName;
-    this.methodName = methodName.replace("<", "&lt;").replace(">", "&gt;");
+    this.methodName = methodName;
     this.methodDesc = methodDesc;
-    this.method = method;
+    this.hash = 31 * (31 * clazzName.hashCode() + methodName.hashCode())
+        + methodDesc.hashCode();
+  }
+
+  /**
+   * canonical identifier of a method, the method name is escaped for reports
+   */
+  public static JVMIdentifier of(String clazzName, String methodName,
+      String methodDesc) {
+    var id = new JVMIdentifier(clazzName,
+        methodName.replace("<", "&lt;").replace(">", "&gt;"), methodDesc);
+    var stripe = interned[id.hash & (interned.length - 1)];
+    synchronized (stripe) {
+      var existing = stripe.get(id);
+      var canonical = existing == null ? null : existing.get();
+      if (canonical != null) {
+        return canonical;
+      }
+      stripe.put(id, new WeakReference<>(id));
+      return id;
+    }
   }
 
+  /**
+   * identifier of a Spoon method, cached on the element itself
+   */
   public static JVMIdentifier SpoonToJVMString(CtExecutable item) {
+    var cached = item.getMetadata(SPOON_KEY);
+    if (cached instanceof JVMIdentifier) {
+      return (JVMIdentifier) cached;
+    }
+
     var clazz = item.getParent(CtType.class).getReference();
     var ret = item.getType();
 
@@ -70,9 +118,10 @@ public final class JVMIdentifier {
         .map(CtParameter.class::cast).map(arg -> toJVMType(arg.getType(), true))
         .collect(Collectors.joining(""));
     //Some lambdas has null as return type
-    return new JVMIdentifier(toJVMType(clazz, false), item.getSimpleName(),
-        "(" + args + ")" + toJVMType(ret, true), Optional.of(item));
-
+    var id = of(toJVMType(clazz, false), item.getSimpleName(),
+        "(" + args + ")" + toJVMType(ret, true));
+    item.putMetadata(SPOON_KEY, id);
+    return id;
   }
 
   private static String toJVMType(CtTypeReference type, boolean isMethodDesc) {
@@ -109,7 +158,7 @@ public final class JVMIdentifier {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(this.toString());
+    return this.hash;
   }
 
   @Override
@@ -121,6 +170,8 @@ public final class JVMIdentifier {
     if (getClass() != obj.getClass())
       return false;
     JVMIdentifier id = (JVMIdentifier) obj;
-    return Objects.equals(this.toString(), id.toString());
+    return this.hash == id.hash && this.clazzName.equals(id.clazzName)
+        && this.methodName.equals(id.methodName) && this.methodDesc
+        .equals(id.methodDesc);
   }
 }
@@ -17,82 +17,236 @@
  */
 package com.github.jhejderup.artifact.maven;
 
+import com.github.jhejderup.BoundedCache;
+import com.github.jhejderup.CacheDirectory;
 import com.github.jhejderup.artifact.Package;
 import net.lingala.zip4j.core.ZipFile;
-import org.jboss.shrinkwrap.resolver.api.maven.Maven;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Artifact implements Package {
 
-  private static Logger     logger = LoggerFactory.getLogger(Artifact.class);
-  private final  Coordinate coord;
+  private static Logger                         logger   = LoggerFactory
+      .getLogger(Artifact.class);
+  // bounded for long-running processes, far above the jars analysed at once
+  private static BoundedCache<Path, OpenJar>    openJars = new BoundedCache<>(
+      64, OpenJar::evict);
+  private static Map<FileSystem, OpenJar>       inUse    = new ConcurrentHashMap<>();
+  private final  Coordinate                     coord;
+  private final  Resolver                       resolver;
 
   public Artifact(Coordinate coord) {
-    this.coord = coord;
+    this(coord, Resolver.shared());
+  }
 
+  public Artifact(Coordinate coord, Resolver resolver) {
+    this.coord = coord;
+    this.resolver = resolver;
   }
 
+  /**
+   * root of the sources, see {@link #openSources(Path)}
+   */
   @Override
   public Optional<Path> getSource() {
-    try {
-      var jarFile = Maven.resolver().resolve(
-          coord.groupId + ":" + coord.artifactId + ":java-source:sources:"
-              + coord.version).withoutTransitivity().asSingleFile();
-      logger.info(
-          "[ShrinkWrap] Downloaded " + jarFile.toString() + " for " + coord);
-
-      Path unzipLocation = Files.createTempDirectory("uppdateratempz");
-      ZipFile zipFile = new ZipFile(jarFile);
-      zipFile.extractAll(unzipLocation.toString());
-      logger.info("[ShrinkWrap] Extracted " + jarFile.toString() + " to "
-          + unzipLocation);
-      return Optional.of(unzipLocation);
+    return getSourceJar().flatMap(Artifact::openSources);
+  }
+
+  /**
+   * The sources of a sources jar: by default the root of a read-only zip file
+   * system over the jar, so only the files that are read get decompressed.
+   * With `-Duppdatera.sources=extract` the jar is extracted once into the
+   * cache folder instead, shared by all runs and addressed by the jar's
+   * content.
+   * <p>
+   * Every opened root must be given back to {@link #closeSources(Path)}; a
+   * zip file system stays open while any caller still uses it, even once it
+   * is evicted from the open jars.
+   */
+  public static Optional<Path> openSources(Path jarFile) {
+    return "extract".equalsIgnoreCase(System.getProperty("uppdatera.sources")) ?
+        extract(jarFile) :
+        open(jarFile);
+  }
 
+  private static Optional<Path> open(Path jarFile) {
+    try {
+      while (true) {
+        var jar = openJars.computeIfAbsent(jarFile.toAbsolutePath(), path -> {
+          try {
+            return new OpenJar(
+                FileSystems.newFileSystem(path, (ClassLoader) null));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        // a jar closed after its eviction is no longer cached, so the next
+        // attempt opens it again
+        if (jar.acquire()) {
+          return Optional.of(jar.fs.getRootDirectories().iterator().next());
+        }
+      }
     } catch (Exception e) {
-      e.printStackTrace();
-      logger.error(
-          "[ShrinkWrap] Failed to download and unzip sources for " + coord
-              .toString());
+      logger.error("[ShrinkWrap] Failed to open " + jarFile.toString() + ": "
+          + e.toString());
       return Optional.empty();
     }
   }
 
-  @Override
-  public Optional<Path> getBinary() {
+  /**
+   * gives back a root of {@link #openSources(Path)}; an extracted folder
+   * stays in the cache folder
+   */
+  public static void closeSources(Path root) {
+    var jar = inUse.get(root.getFileSystem());
+    if (jar != null) {
+      jar.release();
+    }
+  }
+
+  /**
+   * A zip file system with the number of callers using it, closed once it is
+   * evicted and no longer used.
+   */
+  private static final class OpenJar {
+    private final FileSystem fs;
+    private       int        users;
+    private       boolean    evicted;
+
+    OpenJar(FileSystem fs) {
+      this.fs = fs;
+    }
+
+    synchronized boolean acquire() {
+      if (!fs.isOpen()) {
+        return false;
+      }
+      if (users++ == 0) {
+        inUse.put(fs, this);
+      }
+      return true;
+    }
+
+    synchronized void release() {
+      if (users > 0 && --users == 0) {
+        inUse.remove(fs);
+        if (evicted) {
+          close();
+        }
+      }
+    }
+
+    synchronized void evict() {
+      evicted = true;
+      if (users == 0) {
+        close();
+      }
+    }
+
+    private void close() {
+      try {
+        fs.close();
+      } catch (IOException e) {
+        logger
+            .warn("[ShrinkWrap] Failed to close " + fs + ": " + e.toString());
+      }
+    }
+  }
+
+  private static Optional<Path> extract(Path jarFile) {
     try {
-      var jarFile = Maven.resolver()
-          .resolve(coord.groupId + ":" + coord.artifactId + ":" + coord.version)
-          .withoutTransitivity().asSingleFile();
-      logger.info(
-          "[ShrinkWrap] Downloaded " + jarFile.toString() + " for " + coord);
-      return Optional.of(jarFile.toPath());
+      var cache = CacheDirectory.of("sources");
+      var target = cache.resolve(CacheDirectory.sha256(jarFile));
+      if (Files.isDirectory(target)) {
+        logger.info("[ShrinkWrap] Reusing " + target + " for " + jarFile);
+        return Optional.of(target);
+      }
+
+      // extract next to the target and move it in place at once, so that
+      // concurrent runs never see a half extracted folder
+      Files.createDirectories(cache);
+      var unzipLocation = Files.createTempDirectory(cache, "tmp");
+      new ZipFile(jarFile.toFile()).extractAll(unzipLocation.toString());
+      try {
+        Files.move(unzipLocation, target, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("[ShrinkWrap] Extracted " + jarFile.toString() + " to "
+            + target);
+      } catch (IOException e) {
+        if (!Files.isDirectory(target)) {
+          throw e;
+        }
+        // another run extracted the same jar first
+        delete(unzipLocation);
+      }
+      return Optional.of(target);
     } catch (Exception e) {
-      logger.error(
-          "[ShrinkWrap] Failed to download jar file for" + coord.toString());
+      e.printStackTrace();
+      logger.error("[ShrinkWrap] Failed to unzip " + jarFile.toString());
       return Optional.empty();
     }
   }
 
-  public Optional<String> getClassPath() {
-    try {
-      var cpFileList = Maven.resolver()
-          .resolve(coord.groupId + ":" + coord.artifactId + ":" + coord.version)
-          .withoutTransitivity().asFile();
+  private static void delete(Path folder) throws IOException {
+    try (var files = Files.walk(folder)) {
+      for (var file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
 
-      var cp = Arrays.stream(cpFileList).map(File::toString).collect(Collectors.joining(":"));
-      return Optional.of(cp);
-    } catch (Exception e) {
+  /**
+   * starts resolving the sources and binary jar in the background
+   */
+  public Artifact prefetch() {
+    resolver.resolve(sourcesCoordinate());
+    resolver.resolve(binaryCoordinate());
+    return this;
+  }
+
+  private String sourcesCoordinate() {
+    return coord.groupId + ":" + coord.artifactId + ":java-source:sources:"
+        + coord.version;
+  }
+
+  private String binaryCoordinate() {
+    return coord.groupId + ":" + coord.artifactId + ":" + coord.version;
+  }
+
+  /**
+   * the sources jar itself, without extracting it
+   */
+  public Optional<Path> getSourceJar() {
+    var jarFile = resolver.resolve(sourcesCoordinate()).join();
+    if (!jarFile.isPresent()) {
+      logger.error(
+          "[ShrinkWrap] Failed to download sources for " + coord.toString());
+    }
+    return jarFile;
+  }
+
+  @Override
+  public Optional<Path> getBinary() {
+    var jarFile = resolver.resolve(binaryCoordinate()).join();
+    if (!jarFile.isPresent()) {
       logger.error(
           "[ShrinkWrap] Failed to download jar file for" + coord.toString());
-      return Optional.empty();
     }
+    return jarFile;
+  }
+
+  /**
+   * classpath of the artifact, resolved without transitive dependencies (so
+   * it's the binary jar)
+   */
+  public Optional<String> getClassPath() {
+    return getBinary().map(Path::toString);
   }
 }
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.artifact.maven;
+
+import com.github.jhejderup.BoundedCache;
+import com.github.jhejderup.CacheDirectory;
+import com.github.jhejderup.DaemonThreadFactory;
+import com.github.jhejderup.events.Events;
+import org.jboss.shrinkwrap.resolver.api.maven.Maven;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Resolves Maven artifacts concurrently, at most once per coordinate.
+ * <p>
+ * Resolved files are also kept in a content-addressed cache
+ * (`artifacts/<sha256>/<file name>`) with an index by coordinate, so analyses
+ * of coordinates seen before don't start a Maven resolver at all. SNAPSHOT
+ * versions are never cached on disk. A ShrinkWrap resolver keeps the
+ * dependencies of every request in its session, so each resolution gets a
+ * fresh one.
+ * <p>
+ * With a repository folder (e.g. a stub repository in a test, or a mirror)
+ * coordinates are only looked up in its Maven layout, never over the network.
+ */
+public final class Resolver {
+
+  private static Logger   logger = LoggerFactory.getLogger(Resolver.class);
+  private static Resolver shared;
+
+  private static final int MAX_RESOLVED = 4096;
+
+  private final Path                                                   cache;
+  private final Path                                                   repository;
+  private final ExecutorService                                        pool;
+  private final BoundedCache<String, CompletableFuture<Optional<Path>>> resolved = new BoundedCache<>(
+      MAX_RESOLVED);
+
+  /**
+   * @param cache folder of the artifact cache, or null to always resolve
+   */
+  public Resolver(Path cache, int threads) {
+    this(cache, null, threads);
+  }
+
+  /**
+   * @param cache      folder of the artifact cache, or null to always resolve
+   * @param repository folder of a Maven repository to resolve from instead of
+   *                   ShrinkWrap, or null
+   */
+  public Resolver(Path cache, Path repository, int threads) {
+    this.cache = repository == null ? cache : null;
+    this.repository = repository;
+    this.pool = Executors
+        .newFixedThreadPool(threads, new DaemonThreadFactory("uppdatera-resolve-"));
+  }
+
+  /**
+   * resolver shared by all artifacts of this JVM, caching in the `artifacts`
+   * folder of the cache directory unless `-Duppdatera.artifact.cache=false`,
+   * or resolving from `-Duppdatera.maven.repository=<folder>` if set
+   */
+  public static synchronized Resolver shared() {
+    if (shared == null) {
+      var useCache = !"false"
+          .equalsIgnoreCase(System.getProperty("uppdatera.artifact.cache"));
+      var repository = System.getProperty("uppdatera.maven.repository");
+      shared = new Resolver(useCache ? CacheDirectory.of("artifacts") : null,
+          repository == null ? null : Paths.get(repository), 4);
+    }
+    return shared;
+  }
+
+  /**
+   * the file of a canonical coordinate (`groupId:artifactId[:packaging[:classifier]]:version`),
+   * resolved in the background
+   */
+  public CompletableFuture<Optional<Path>> resolve(String coordinate) {
+    var future = resolved.computeIfAbsent(coordinate,
+        c -> CompletableFuture.supplyAsync(() -> lookup(c), pool));
+    // failures are retried by the next request
+    future.thenAccept(file -> {
+      if (!file.isPresent()) {
+        resolved.remove(coordinate, future);
+      }
+    });
+    return future;
+  }
+
+  private Optional<Path> lookup(String coordinate) {
+    var event = Events.artifactResolution();
+    if (this.repository != null) {
+      return committed(event, coordinate, "repository",
+          fromRepository(coordinate));
+    }
+
+    var cacheable = this.cache != null && !coordinate.endsWith("-SNAPSHOT");
+    if (cacheable) {
+      var cached = fromCache(coordinate);
+      if (cached.isPresent()) {
+        logger.info("[Resolver] Found " + cached.get() + " for " + coordinate);
+        return committed(event, coordinate, "cache", cached);
+      }
+    }
+
+    Path file;
+    try {
+      file = Maven.resolver().resolve(coordinate).withoutTransitivity()
+          .asSingleFile().toPath();
+      logger.info(
+          "[ShrinkWrap] Downloaded " + file.toString() + " for " + coordinate);
+    } catch (Exception e) {
+      logger.error("[ShrinkWrap] Failed to resolve " + coordinate + ": " + e
+          .toString());
+      return committed(event, coordinate, "maven", Optional.empty());
+    }
+
+    if (cacheable) {
+      try {
+        file = store(coordinate, file);
+      } catch (IOException e) {
+        logger.warn("[Resolver] Failed to cache " + file + ": " + e.toString());
+      }
+    }
+    return committed(event, coordinate, "maven", Optional.of(file));
+  }
+
+  private static Optional<Path> committed(Events.ArtifactResolution event,
+      String coordinate, String source, Optional<Path> file) {
+    event.commit(coordinate, source, file.map(Path::toString).orElse(null));
+    return file;
+  }
+
+  ///
+  /// Repository: `groupId/as/folders/artifactId/version/artifactId-version[-classifier].extension`
+  ///
+
+  private Optional<Path> fromRepository(String coordinate) {
+    var parts = coordinate.split(":");
+    if (parts.length != 3 && parts.length != 5) {
+      logger.error("[Resolver] Unsupported coordinate " + coordinate);
+      return Optional.empty();
+    }
+    var groupId = parts[0];
+    var artifactId = parts[1];
+    var version = parts[parts.length - 1];
+    var packaging = parts.length == 5 ? parts[2] : "jar";
+    var classifier = parts.length == 5 ? "-" + parts[3] : "";
+    var extension = "java-source".equals(packaging) ? "jar" : packaging;
+
+    var file = this.repository.resolve(groupId.replace('.', '/'))
+        .resolve(artifactId).resolve(version)
+        .resolve(artifactId + "-" + version + classifier + "." + extension);
+    if (!Files.isRegularFile(file)) {
+      logger.error("[Resolver] " + coordinate + " is not in " + repository);
+      return Optional.empty();
+    }
+    logger.info("[Resolver] Found " + file + " for " + coordinate);
+    return Optional.of(file);
+  }
+
+  ///
+  /// Cache: the index maps a coordinate to the hash of its file
+  ///
+
+  private Path indexEntry(String coordinate) {
+    return this.cache.resolve("index")
+        .resolve(coordinate.replace(':', '/') + ".sha256");
+  }
+
+  private Optional<Path> fromCache(String coordinate) {
+    try {
+      var index = indexEntry(coordinate);
+      if (!Files.isRegularFile(index)) {
+        return Optional.empty();
+      }
+      var hash = new String(Files.readAllBytes(index), StandardCharsets.UTF_8)
+          .trim();
+      try (var files = Files.list(this.cache.resolve(hash))) {
+        return files.filter(Files::isRegularFile)
+            .filter(f -> !f.getFileName().toString().endsWith(".part"))
+            .findFirst();
+      }
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private Path store(String coordinate, Path file) throws IOException {
+    var hash = CacheDirectory.sha256(file);
+    var target = this.cache.resolve(hash).resolve(file.getFileName());
+    if (!Files.isRegularFile(target)) {
+      Files.createDirectories(target.getParent());
+      var tmp = Files.createTempFile(target.getParent(), "tmp", ".part");
+      try {
+        Files.copy(file, tmp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+    }
+
+    var index = indexEntry(coordinate);
+    Files.createDirectories(index.getParent());
+    var tmp = Files.createTempFile(index.getParent(), "tmp", ".part");
+    try {
+      Files.write(tmp, hash.getBytes(StandardCharsets.UTF_8));
+      Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    return target;
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.callgraph;
+
+import com.github.jhejderup.CacheDirectory;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of resolved call graphs.
+ * <p>
+ * Entries are keyed by a SHA-256 of the content of every class file and jar
+ * on the project and dependency classpaths plus the WALA exclusions, so a
+ * rebuilt project or a different dependency never hits a stale entry. The
+ * cache is bounded in size; the least recently used entries are evicted first.
+ */
+public final class CallGraphCache {
+
+  private static final Logger logger  = LoggerFactory
+      .getLogger(CallGraphCache.class);
+  private static final int    VERSION = 1;
+  private static final String SUFFIX  = ".cg";
+
+  private static final List<ClassLoaderReference> LOADERS = Arrays
+      .asList(ClassLoaderReference.Primordial, ClassLoaderReference.Extension,
+          ClassLoaderReference.Application);
+
+  private final Path directory;
+  private final long maxBytes;
+
+  public CallGraphCache(Path directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * the cache configured with `-Duppdatera.cache.dir` (default
+   * ~/.uppdatera/cache) and `-Duppdatera.callgraph.cache.maxBytes` (default
+   * 1 GiB), or nothing if `-Duppdatera.callgraph.cache=false`
+   */
+  public static Optional<CallGraphCache> fromSystemProperties() {
+    if ("false"
+        .equalsIgnoreCase(System.getProperty("uppdatera.callgraph.cache"))) {
+      return Optional.empty();
+    }
+    var maxBytes = Long
+        .getLong("uppdatera.callgraph.cache.maxBytes", 1024L * 1024 * 1024);
+    return Optional
+        .of(new CallGraphCache(CacheDirectory.of("callgraphs"), maxBytes));
+  }
+
+  ///
+  /// Keys
+  ///
+
+  public static String key(String classpathProject, String classpathDepz,
+      InputStream exclusions) throws IOException {
+    var digest = CacheDirectory.newSha256();
+    update(digest, "v" + VERSION);
+    update(digest, "project");
+    for (var entry : classpathProject.split(":")) {
+      hashClassPathEntry(digest, entry);
+    }
+    update(digest, "depz");
+    for (var entry : classpathDepz.split(":")) {
+      hashClassPathEntry(digest, entry);
+    }
+    update(digest, "exclusions");
+    hashStream(digest, exclusions);
+    return CacheDirectory.toHex(digest.digest());
+  }
+
+  private static void hashClassPathEntry(MessageDigest digest, String entry)
+      throws IOException {
+    if (entry.isEmpty()) {
+      return;
+    }
+    var root = Paths.get(entry);
+    if (Files.isDirectory(root)) {
+      List<Path> files;
+      try (var walk = Files.walk(root)) {
+        files = walk.filter(Files::isRegularFile)
+            .filter(p -> p.toString().endsWith(".class")).sorted()
+            .collect(Collectors.toList());
+      }
+      update(digest, "dir");
+      for (var file : files) {
+        update(digest, root.relativize(file).toString());
+        hashFile(digest, file);
+      }
+    } else if (Files.isRegularFile(root)) {
+      update(digest, "file");
+      hashFile(digest, root);
+    } else {
+      update(digest, "missing:" + entry);
+    }
+  }
+
+  private static void hashFile(MessageDigest digest, Path file)
+      throws IOException {
+    try (var in = Files.newInputStream(file)) {
+      hashStream(digest, in);
+    }
+  }
+
+  private static void hashStream(MessageDigest digest, InputStream in)
+      throws IOException {
+    var buffer = new byte[64 * 1024];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      digest.update(buffer, 0, read);
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update((byte) (bytes.length >>> 24));
+    digest.update((byte) (bytes.length >>> 16));
+    digest.update((byte) (bytes.length >>> 8));
+    digest.update((byte) bytes.length);
+    digest.update(bytes);
+  }
+
+  ///
+  /// Load & Store
+  ///
+
+  public Optional<List<ResolvedCall>> load(String key) {
+    var file = this.directory.resolve(key + SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (var in = new DataInputStream(new BufferedInputStream(
+        new GZIPInputStream(Files.newInputStream(file))))) {
+      var calls = read(in);
+      //mark as recently used
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      logger.info("[CallGraphCache] Loaded {} calls from {}", calls.size(),
+          file);
+      return Optional.of(calls);
+    } catch (Exception e) {
+      logger.warn("[CallGraphCache] Ignoring unreadable entry {}: {}", file,
+          e.toString());
+      return Optional.empty();
+    }
+  }
+
+  public void store(String key, List<ResolvedCall> calls) {
+    try {
+      Files.createDirectories(this.directory);
+      var tmp = Files.createTempFile(this.directory, key, ".tmp");
+      try {
+        try (var out = new DataOutputStream(new BufferedOutputStream(
+            new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+          write(out, calls);
+        }
+        Files.move(tmp, this.directory.resolve(key + SUFFIX),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+      logger.info("[CallGraphCache] Stored {} calls under {}", calls.size(),
+          key);
+      evict();
+    } catch (IOException e) {
+      logger.warn("[CallGraphCache] Failed to store call graph: {}",
+          e.toString());
+    }
+  }
+
+  private void evict() throws IOException {
+    for (var entry : CacheDirectory.evict(this.directory, SUFFIX, this.maxBytes)) {
+      logger.info("[CallGraphCache] Evicted {}", entry);
+    }
+  }
+
+  ///
+  /// Format: string table, method table (loader, class, name, descriptor)
+  /// followed by the calls as pairs of method indices
+  ///
+
+  private static void write(DataOutputStream out, List<ResolvedCall> calls)
+      throws IOException {
+    var strings = new LinkedHashMap<String, Integer>();
+    var methods = new LinkedHashMap<MethodReference, Integer>();
+    for (var call : calls) {
+      for (var ref : Arrays.asList(call.source, call.target)) {
+        if (!methods.containsKey(ref)) {
+          methods.put(ref, methods.size());
+          strings.putIfAbsent(ref.getDeclaringClass().getName().toString(),
+              strings.size());
+          strings.putIfAbsent(ref.getName().toString(), strings.size());
+          strings.putIfAbsent(ref.getDescriptor().toString(), strings.size());
+        }
+      }
+    }
+
+    out.writeInt(VERSION);
+    out.writeInt(strings.size());
+    for (var s : strings.keySet()) {
+      out.writeUTF(s);
+    }
+    out.writeInt(methods.size());
+    for (var ref : methods.keySet()) {
+      var loader = LOADERS.indexOf(ref.getDeclaringClass().getClassLoader());
+      if (loader < 0) {
+        throw new IOException("Unsupported class loader " + ref
+            .getDeclaringClass().getClassLoader());
+      }
+      out.writeByte(loader);
+      out.writeInt(strings.get(ref.getDeclaringClass().getName().toString()));
+      out.writeInt(strings.get(ref.getName().toString()));
+      out.writeInt(strings.get(ref.getDescriptor().toString()));
+    }
+    out.writeInt(calls.size());
+    for (var call : calls) {
+      out.writeInt(methods.get(call.source));
+      out.writeInt(methods.get(call.target));
+    }
+  }
+
+  private static List<ResolvedCall> read(DataInputStream in)
+      throws IOException {
+    if (in.readInt() != VERSION) {
+      throw new IOException("Unsupported cache format");
+    }
+    var strings = new String[in.readInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = in.readUTF();
+    }
+    var methods = new MethodReference[in.readInt()];
+    for (int i = 0; i < methods.length; i++) {
+      var loader = LOADERS.get(in.readByte());
+      var clazz = strings[in.readInt()];
+      var name = strings[in.readInt()];
+      var desc = strings[in.readInt()];
+      methods[i] = MethodReference.findOrCreate(loader, clazz, name, desc);
+    }
+    var size = in.readInt();
+    var calls = new ArrayList<ResolvedCall>(size);
+    for (int i = 0; i < size; i++) {
+      var source = methods[in.readInt()];
+      var target = methods[in.readInt()];
+      calls.add(new ResolvedCall(source, target));
+    }
+    return calls;
+  }
+}
@@ -17,6 +17,7 @@
  */
 package com.github.jhejderup.callgraph;
 
+import com.github.jhejderup.events.Events;
 import com.ibm.wala.classLoader.CallSiteReference;
 import com.ibm.wala.classLoader.IClass;
 import com.ibm.wala.classLoader.IMethod;
@@ -25,11 +26,13 @@ import com.ibm.wala.ipa.callgraph.impl.DefaultEntrypoint;
 import com.ibm.wala.ipa.callgraph.impl.Util;
 import com.ibm.wala.ipa.cha.ClassHierarchy;
 import com.ibm.wala.ipa.cha.ClassHierarchyFactory;
+import com.ibm.wala.util.MonitorUtil.IProgressMonitor;
 import com.ibm.wala.util.config.AnalysisScopeReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,55 +45,118 @@ public final class WalaCallgraphConstructor {
 
   public static List<ResolvedCall> buildCHA(String classpath_project,
       String classpath_depz) {
+    var cache = CallGraphCache.fromSystemProperties();
+    if (!cache.isPresent()) {
+      return buildCHAWithoutCache(classpath_project, classpath_depz);
+    }
+
+    var key = cacheKey(classpath_project, classpath_depz);
+    if (!key.isPresent()) {
+      return buildCHAWithoutCache(classpath_project, classpath_depz);
+    }
+
+    var cached = cache.get().load(key.get());
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    var calls = buildCHAWithoutCache(classpath_project, classpath_depz);
+    if (calls != null) {
+      cache.get().store(key.get(), calls);
+    }
+    return calls;
+  }
+
+  /**
+   * content hash of everything the call graph is built from, see
+   * {@link CallGraphCache#key}
+   */
+  public static Optional<String> cacheKey(String classpath_project,
+      String classpath_depz) {
+    try (var exclusions = WalaCallgraphConstructor.class.getClassLoader()
+        .getResourceAsStream("Java60RegressionExclusions.txt")) {
+      return Optional
+          .of(CallGraphCache.key(classpath_project, classpath_depz, exclusions));
+    } catch (IOException e) {
+      logger.warn("Failed to hash the classpath, skipping the call graph cache: {}",
+          e.toString());
+      return Optional.empty();
+    }
+  }
+
+  private static List<ResolvedCall> buildCHAWithoutCache(
+      String classpath_project, String classpath_depz) {
     try {
+      var event = Events.callGraphConstruction();
+      var cg = makeCallGraph(classpath_project, classpath_depz);
+      var calls = makeCHA(cg);
+      event.commit(classpath_project, classpath_depz,
+          cg.getEntrypointNodes().size(), cg.getNumberOfNodes(), calls.size());
+      return calls;
+    } catch (CallGraphBuilderCancelException e) {
+      logger.info("Call graph construction was interrupted");
+      return null;
+    } catch (Exception e) {
+      e.printStackTrace();
+      return null;
+    }
+  }
 
-      logger.info("Building call graph with project classpath: {}",
-          classpath_project);
-      logger
-          .info("Building call graph with depz classpath: {}", classpath_depz);
-      //1. Fetch exclusion file
-      var classLoader = WalaCallgraphConstructor.class.getClassLoader();
-      var exclusionFile = new File(
-          classLoader.getResource("Java60RegressionExclusions.txt").getFile());
-
-      //2. Set the analysis scope
-      var scope = AnalysisScopeReader
-          .makeJavaBinaryAnalysisScope(classpath_project, exclusionFile);
-      //Add dependency classes under the extension scope
-
-      var depz = classpath_depz.split(":");
-
-      Arrays.stream(depz).forEach(cp -> {
-        try {
-          AnalysisScopeReader.addClassPathToScope(cp, scope, scope.getLoader(AnalysisScope.EXTENSION));
-        } catch (Error e){
-           logger.info("Failed adding dependency to the extension scope: {}",cp);
-        }
-      });
+  /**
+   * RTA call graph with all project methods as entry points
+   */
+  public static CallGraph makeCallGraph(String classpath_project,
+      String classpath_depz) throws Exception {
+    var cha = makeClassHierarchy(classpath_project, classpath_depz);
+    var scope = cha.getScope();
 
+    //4. Both Private/Public functions are entry-points
+    var entryPoints = makeEntryPoints(scope, cha);
 
+    //5. Encapsulates various analysis options
+    var options = new AnalysisOptions(scope, entryPoints);
+    var cache = new AnalysisCacheImpl();
 
-      //3. Class Hierarchy for name resolution -> missing superclasses are replaced by the ClassHierarchy root,
-      //   i.e. java.lang.Object
-      var cha = ClassHierarchyFactory.makeWithRoot(scope);
+    //6 Build the call graph
+    var builder = Util.makeRTABuilder(options, cache, cha, scope);
+    return builder.makeCallGraph(options, new InterruptMonitor());
+  }
 
-      //4. Both Private/Public functions are entry-points
-      var entryPoints = makeEntryPoints(scope, cha);
+  /**
+   * class hierarchy of the project (application loader), its dependencies
+   * (extension loader) and the JDK (primordial loader)
+   */
+  public static ClassHierarchy makeClassHierarchy(String classpath_project,
+      String classpath_depz) throws Exception {
+    logger.info("Building call graph with project classpath: {}",
+        classpath_project);
+    logger
+        .info("Building call graph with depz classpath: {}", classpath_depz);
+    //1. Fetch exclusion file
+    var classLoader = WalaCallgraphConstructor.class.getClassLoader();
+    var exclusionFile = new File(
+        classLoader.getResource("Java60RegressionExclusions.txt").getFile());
 
-      //5. Encapsulates various analysis options
-      var options = new AnalysisOptions(scope, entryPoints);
-      var cache = new AnalysisCacheImpl();
+    //2. Set the analysis scope
+    var scope = AnalysisScopeReader
+        .makeJavaBinaryAnalysisScope(classpath_project, exclusionFile);
+    //Add dependency classes under the extension scope
 
-      //6 Build the call graph
-      var builder = Util.makeRTABuilder(options, cache, cha, scope);
-      var cg = builder.makeCallGraph(options, null);
+    var depz = classpath_depz.split(":");
 
-      return makeCHA(cg);
+    Arrays.stream(depz).forEach(cp -> {
+      try {
+        AnalysisScopeReader.addClassPathToScope(cp, scope, scope.getLoader(AnalysisScope.EXTENSION));
+      } catch (Error e){
+         logger.info("Failed adding dependency to the extension scope: {}",cp);
+      }
+    });
 
-    } catch (Exception e) {
-      e.printStackTrace();
-      return null;
-    }
+
+
+    //3. Class Hierarchy for name resolution -> missing superclasses are replaced by the ClassHierarchy root,
+    //   i.e. java.lang.Object
+    return ClassHierarchyFactory.makeWithRoot(scope);
   }
 
   private static <T> Stream<T> itrToStream(Iterator<T> itr) {
@@ -98,7 +164,10 @@ public final class WalaCallgraphConstructor {
     return StreamSupport.stream(iterable.spliterator(), false);
   }
 
-  private static List<ResolvedCall> makeCHA(CallGraph cg) {
+  /**
+   * calls of the call graph, resolved to the implementing methods
+   */
+  public static List<ResolvedCall> makeCHA(CallGraph cg) {
     //Get all entrypoints and turn into a J8 Stream
     var entryPointsStream = itrToStream(
         cg.getFakeRootNode().iterateCallSites());
@@ -163,4 +232,41 @@ public final class WalaCallgraphConstructor {
         .equals(klass.getClassLoader().getReference());
   }
 
+
+  /**
+   * cancels the construction once its thread is interrupted, e.g. because
+   * the diff it runs next to failed
+   */
+  private static final class InterruptMonitor implements IProgressMonitor {
+    @Override
+    public void beginTask(String task, int totalWork) {
+    }
+
+    @Override
+    public void subTask(String subTask) {
+    }
+
+    @Override
+    public void cancel() {
+      Thread.currentThread().interrupt();
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return Thread.currentThread().isInterrupted();
+    }
+
+    @Override
+    public void done() {
+    }
+
+    @Override
+    public void worked(int units) {
+    }
+
+    @Override
+    public String getCancelMessage() {
+      return "interrupted";
+    }
+  }
 }
@@ -17,6 +17,8 @@
  */
 package com.github.jhejderup.diff.ast;
 
+import com.github.gumtreediff.matchers.heuristic.gt.AbstractBottomUpMatcher;
+import com.github.gumtreediff.matchers.heuristic.gt.AbstractSubtreeMatcher;
 import gumtree.spoon.builder.SpoonGumTreeBuilder;
 import gumtree.spoon.diff.Diff;
 import gumtree.spoon.diff.DiffImpl;
@@ -33,12 +35,22 @@ import spoon.support.compiler.VirtualFile;
 import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 public class AstComperator {
-  // For the moment, let's create a factory each type we get a type.
-  // Sharing the factory produces a bug when asking the path of different types
-  // (>1)
-  // private final Factory factory;
+  // Single files get a factory of their own (getCtType). Many files can share
+  // one factory through buildModel: types are then resolved through the
+  // compilation unit of their file instead of taking the first type of the
+  // model, which is what broke sharing a factory between more than one type.
 
   static {
     // default 0.3
@@ -70,6 +82,13 @@ public class AstComperator {
     // System.setProperty("gumtree.match.bu.size","10");
     // System.setProperty("gt.bum.szt", "100
     // 0");
+
+    // The matchers copy the properties above into static fields when they are
+    // initialized. Initialize them right here (class initialization of
+    // AstComperator is serialized by the JVM) so that every concurrent
+    // compare() uses the same settings, no matter which thread diffs first.
+    initialize(AbstractSubtreeMatcher.class);
+    initialize(AbstractBottomUpMatcher.class);
   }
 
   private final String[] classPath;
@@ -79,6 +98,14 @@ public class AstComperator {
     this.classPath = classPath;
   }
 
+  private static void initialize(Class<?> clazz) {
+    try {
+      Class.forName(clazz.getName(), true, clazz.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   public static void main(String[] args) throws Exception {
     if (args.length != 2) {
       System.out.println("Usage: DiffSpoon <file_1>  <file_2>");
@@ -121,32 +148,74 @@ public class AstComperator {
         scanner.getTree(right));
   }
 
+  /**
+   * compares two java files, which may be inside a jar
+   */
+  public Diff compare(Path p1, Path p2) throws Exception {
+    return this.compare(getCtType(p1), getCtType(p2));
+  }
+
   public CtType getCtType(File file) throws Exception {
 
     SpoonResource resource = SpoonResourceHelper.createResource(file);
     return getCtType(resource);
   }
 
+  public CtType getCtType(Path path) throws Exception {
+    return getCtType(resource(path));
+  }
+
   public CtType getCtType(SpoonResource resource) {
-    Factory factory = createFactory();
-    factory.getModel().setBuildModelIsFinished(false);
-    SpoonModelBuilder compiler = new JDTBasedSpoonCompiler(factory);
-    compiler.getFactory().getEnvironment().setLevel("OFF");
-    compiler.addInputSource(resource);
-    compiler.build();
+    Factory factory = build(Collections.singletonList(resource));
 
     if (factory.Type().getAll().size() == 0) {
       return null;
     }
 
-    // let's first take the first type.
-    CtType type = factory.Type().getAll().get(0);
+    // let's first take the main type of the file.
+    CtType type = factory.CompilationUnit().getMap().values().stream()
+        .map(SpoonModel::mainType).filter(Objects::nonNull).findFirst()
+        .orElse(factory.Type().getAll().get(0));
     // Now, let's ask to the factory the type (which it will set up the
     // corresponding
     // package)
     return factory.Type().get(type.getQualifiedName());
   }
 
+  /**
+   * parses all files in one compilation, sharing a single factory
+   */
+  public SpoonModel buildModel(Collection<Path> files) throws IOException {
+    var resources = new ArrayList<SpoonResource>(files.size());
+    for (var file : files) {
+      resources.add(resource(file));
+    }
+    return new SpoonModel(build(resources));
+  }
+
+  /**
+   * a file on disk, or the content of a file in any other file system (e.g.,
+   * a zip file system over a sources jar) named after its path
+   */
+  static SpoonResource resource(Path path) throws IOException {
+    if (path.getFileSystem() == FileSystems.getDefault()) {
+      return SpoonResourceHelper.createResource(path.toFile());
+    }
+    return new VirtualFile(
+        new String(Files.readAllBytes(path), StandardCharsets.UTF_8),
+        path.toString());
+  }
+
+  private Factory build(List<SpoonResource> resources) {
+    Factory factory = createFactory();
+    factory.getModel().setBuildModelIsFinished(false);
+    SpoonModelBuilder compiler = new JDTBasedSpoonCompiler(factory);
+    compiler.getFactory().getEnvironment().setLevel("OFF");
+    compiler.addInputSources(resources);
+    compiler.build();
+    return factory;
+  }
+
   public CtType<?> getCtType(String content) {
     VirtualFile resource = new VirtualFile(content, "/test");
     return getCtType(resource);
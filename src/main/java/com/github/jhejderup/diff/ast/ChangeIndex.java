@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.ast;
+
+import com.github.jhejderup.CacheDirectory;
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.OperationSummary;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Changed methods between every two consecutive versions of a dependency,
+ * precomputed offline (see {@code UppdateraIndex}).
+ * <p>
+ * The changes of two consecutive versions are their delta as it was diffed.
+ * The changes of a longer range are composed from the consecutive deltas:
+ * every method of the old version changed in any of them, followed
+ * through moves and up to its deletion. Operations keep the lines of the
+ * version pair they come from. A change that a later version reverts still
+ * counts, and so does a method added after the old version and changed
+ * later, though no caller of the old version reaches it.
+ * <p>
+ * The file starts with the versions, the SHA-256 of their sources jars and
+ * the size of every delta, so a lookup only reads the deltas it composes.
+ */
+public final class ChangeIndex {
+
+  private static final Logger logger  = LoggerFactory
+      .getLogger(ChangeIndex.class);
+  private static final int    VERSION = 1;
+  private static final String SUFFIX  = ".idx";
+
+  private final Path         file;
+  private final List<String> versions;
+  private final List<String> sha256s;
+  private final long[]       offsets;
+  /**
+   * -1 for a version pair that couldn't be diffed
+   */
+  private final int[]        lengths;
+
+  private ChangeIndex(Path file, List<String> versions, List<String> sha256s,
+      long[] offsets, int[] lengths) {
+    this.file = file;
+    this.versions = versions;
+    this.sha256s = sha256s;
+    this.offsets = offsets;
+    this.lengths = lengths;
+  }
+
+  /**
+   * index lookups on by default, disable with `-Duppdatera.diff.index=false`
+   */
+  public static boolean isEnabled() {
+    return !"false"
+        .equalsIgnoreCase(System.getProperty("uppdatera.diff.index"));
+  }
+
+  /**
+   * where the index of a dependency is looked up, in the cache directory
+   */
+  public static Path file(String groupId, String artifactId) {
+    return CacheDirectory.of("indexes").resolve(groupId)
+        .resolve(artifactId + SUFFIX);
+  }
+
+  /**
+   * empty if there is no index or it was built with other diff options
+   */
+  public static Optional<ChangeIndex> open(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (var in = new RandomAccessFile(file.toFile(), "r")) {
+      if (in.readInt() != VERSION) {
+        throw new IOException("Unsupported index format");
+      }
+      var options = in.readUTF();
+      if (!options.equals(ChangeSetCache.options())) {
+        logger.info("[ChangeIndex] Ignoring {}, built with {}", file, options);
+        return Optional.empty();
+      }
+      var size = in.readInt();
+      var versions = new ArrayList<String>(size);
+      var sha256s = new ArrayList<String>(size);
+      for (int i = 0; i < size; i++) {
+        versions.add(in.readUTF());
+        sha256s.add(in.readUTF());
+      }
+      var offsets = new long[Math.max(0, size - 1)];
+      var lengths = new int[offsets.length];
+      var offset = 0L;
+      for (int i = 0; i < lengths.length; i++) {
+        lengths[i] = in.readInt();
+        offsets[i] = offset;
+        offset += Math.max(0, lengths[i]);
+      }
+      var start = in.getFilePointer();
+      for (int i = 0; i < offsets.length; i++) {
+        offsets[i] += start;
+      }
+      return Optional
+          .of(new ChangeIndex(file, versions, sha256s, offsets, lengths));
+    } catch (Exception e) {
+      logger.warn("[ChangeIndex] Ignoring unreadable index {}: {}", file,
+          e.toString());
+      return Optional.empty();
+    }
+  }
+
+  public List<String> versions() {
+    return Collections.unmodifiableList(versions);
+  }
+
+  /**
+   * changed methods between two indexed versions, empty if either version
+   * or a delta in between is missing, or a sources jar differs from the
+   * indexed one
+   */
+  public Optional<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>> changes(
+      String oldVersion, Path oldSourcesJar, String newVersion,
+      Path newSourcesJar) {
+    var from = versions.indexOf(oldVersion);
+    var to = versions.indexOf(newVersion);
+    if (from < 0 || to <= from) {
+      return Optional.empty();
+    }
+    try {
+      if (!sha256s.get(from).equals(CacheDirectory.sha256(oldSourcesJar))
+          || !sha256s.get(to).equals(CacheDirectory.sha256(newSourcesJar))) {
+        logger.warn("[ChangeIndex] Sources of {} -> {} differ from {}",
+            oldVersion, newVersion, file);
+        return Optional.empty();
+      }
+      var deltas = new ArrayList<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>>();
+      try (var in = new RandomAccessFile(file.toFile(), "r")) {
+        for (int i = from; i < to; i++) {
+          if (lengths[i] < 0) {
+            logger.info("[ChangeIndex] No delta for {} -> {} in {}",
+                versions.get(i), versions.get(i + 1), file);
+            return Optional.empty();
+          }
+          var bytes = new byte[lengths[i]];
+          in.seek(offsets[i]);
+          in.readFully(bytes);
+          deltas.add(ChangeSetCache.read(new DataInputStream(
+              new GZIPInputStream(new ByteArrayInputStream(bytes)))));
+        }
+      }
+      // a single delta is what diffing the pair gives, as it was stored
+      if (deltas.size() == 1) {
+        return Optional.of(deltas.get(0));
+      }
+      logger.info("[ChangeIndex] Composed {} delta(s) for {} -> {}",
+          deltas.size(), oldVersion, newVersion);
+      return Optional.of(compose(deltas));
+    } catch (IOException e) {
+      logger.warn("[ChangeIndex] Failed to read {}: {}", file, e.toString());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * writes the deltas between consecutive `versions`, null for a version
+   * pair that couldn't be diffed
+   */
+  public static void write(Path file, List<String> versions,
+      List<String> sha256s,
+      List<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>> deltas)
+      throws IOException {
+    assert versions.size() == sha256s.size();
+    assert deltas.size() == Math.max(0, versions.size() - 1);
+
+    var blobs = new ArrayList<byte[]>(deltas.size());
+    for (var delta : deltas) {
+      if (delta == null) {
+        blobs.add(null);
+        continue;
+      }
+      var bytes = new ByteArrayOutputStream();
+      try (var out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+        ChangeSetCache.write(out, delta);
+      }
+      blobs.add(bytes.toByteArray());
+    }
+
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    var tmp = Files.createTempFile(file.toAbsolutePath().getParent(),
+        file.getFileName().toString(), ".tmp");
+    try {
+      try (var out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(VERSION);
+        out.writeUTF(ChangeSetCache.options());
+        out.writeInt(versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+          out.writeUTF(versions.get(i));
+          out.writeUTF(sha256s.get(i));
+        }
+        for (var blob : blobs) {
+          out.writeInt(blob == null ? -1 : blob.length);
+        }
+        for (var blob : blobs) {
+          if (blob != null) {
+            out.write(blob);
+          }
+        }
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  ///
+  /// Composition
+  ///
+
+  /**
+   * changed methods of the first version over consecutive deltas, one map
+   * per top-level class
+   */
+  static List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> compose(
+      List<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>> deltas) {
+    var operations = new LinkedHashMap<JVMIdentifier, List<OperationSummary>>();
+    var latest = new HashMap<JVMIdentifier, Optional<JVMIdentifier>>();
+    // method in the current version -> method of the first version
+    var origin = new HashMap<JVMIdentifier, JVMIdentifier>();
+    // methods of the first version deleted or moved away so far
+    var retired = new HashSet<JVMIdentifier>();
+
+    for (var delta : deltas) {
+      var next = new HashMap<>(origin);
+      for (var file : delta) {
+        file.forEach((method, pairs) -> {
+          var first = origin
+              .getOrDefault(method, retired.contains(method) ? null : method);
+          if (first == null) {
+            return; // added after the first version
+          }
+          var ops = operations.computeIfAbsent(first, m -> new ArrayList<>());
+          pairs.forEach(pair -> ops.addAll(pair.getValue()));
+
+          var dst = successor(method, pairs);
+          latest.put(first, dst);
+          next.remove(method);
+          if (!dst.equals(Optional.of(method))) {
+            retired.add(method);
+          }
+          dst.ifPresent(id -> next.put(id, first));
+        });
+      }
+      origin.clear();
+      origin.putAll(next);
+    }
+
+    var byClass = new LinkedHashMap<String, Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>();
+    operations.forEach((method, ops) -> {
+      var clazz = method.clazzName.split("\\$")[0];
+      var pairs = new ArrayList<Map.Entry<MethodStats, List<OperationSummary>>>();
+      pairs.add(new AbstractMap.SimpleImmutableEntry<>(
+          new MethodStats(Optional.of(method), latest.get(method)), ops));
+      byClass.computeIfAbsent(clazz, c -> new LinkedHashMap<>())
+          .put(method, pairs);
+    });
+    return new ArrayList<>(byClass.values());
+  }
+
+  /**
+   * the method a changed method continues as in the next version: itself,
+   * the method it moved to, or none if it was deleted
+   */
+  private static Optional<JVMIdentifier> successor(JVMIdentifier method,
+      List<Map.Entry<MethodStats, List<OperationSummary>>> pairs) {
+    Optional<JVMIdentifier> moved = Optional.empty();
+    for (var pair : pairs) {
+      var dst = pair.getKey().dstMethod;
+      if (dst.equals(Optional.of(method))) {
+        return dst;
+      }
+      if (!moved.isPresent()) {
+        moved = dst;
+      }
+    }
+    return moved;
+  }
+}
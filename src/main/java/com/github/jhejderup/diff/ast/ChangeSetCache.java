@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.ast;
+
+import com.github.jhejderup.CacheDirectory;
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.OperationSummary;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.bytecode.BytecodeDiffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of the changed methods of a bump.
+ * <p>
+ * The changed methods of a bump only depend on the old and new sources jars,
+ * not on the project, so entries are keyed by a SHA-256 of both jars (plus the
+ * diff options that change the outcome) and every project bumping the same
+ * versions shares them. The binary jars of a release are assumed to match its
+ * sources. The cache is bounded in size; the least recently used entries are
+ * evicted first.
+ */
+public final class ChangeSetCache {
+
+  private static final Logger logger  = LoggerFactory
+      .getLogger(ChangeSetCache.class);
+  private static final int    VERSION = 1;
+  private static final String SUFFIX  = ".changes";
+
+  private final Path directory;
+  private final long maxBytes;
+
+  public ChangeSetCache(Path directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * the cache configured with `-Duppdatera.cache.dir` (default
+   * ~/.uppdatera/cache) and `-Duppdatera.diff.cache.maxBytes` (default
+   * 256 MiB), or nothing if `-Duppdatera.diff.cache=false`
+   */
+  public static Optional<ChangeSetCache> fromSystemProperties() {
+    if ("false".equalsIgnoreCase(System.getProperty("uppdatera.diff.cache"))) {
+      return Optional.empty();
+    }
+    var maxBytes = Long
+        .getLong("uppdatera.diff.cache.maxBytes", 256L * 1024 * 1024);
+    return Optional
+        .of(new ChangeSetCache(CacheDirectory.of("changesets"), maxBytes));
+  }
+
+  public static String key(Path oldSourcesJar, Path newSourcesJar)
+      throws IOException {
+    var digest = CacheDirectory.newSha256();
+    digest.update(options().getBytes(StandardCharsets.UTF_8));
+    digest.update(CacheDirectory.sha256(oldSourcesJar)
+        .getBytes(StandardCharsets.UTF_8));
+    digest.update(CacheDirectory.sha256(newSourcesJar)
+        .getBytes(StandardCharsets.UTF_8));
+    return CacheDirectory.toHex(digest.digest());
+  }
+
+  /**
+   * format and diff options that change the changed methods of a bump
+   */
+  static String options() {
+    return String.format("v%d:methodLevel=%b:bytecodeFilter=%b", VERSION,
+        MethodIndex.isEnabled(), BytecodeDiffer.isEnabled());
+  }
+
+  ///
+  /// Load & Store
+  ///
+
+  public Optional<List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>> load(
+      String key) {
+    var file = this.directory.resolve(key + SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (var in = new DataInputStream(new BufferedInputStream(
+        new GZIPInputStream(Files.newInputStream(file))))) {
+      var changes = read(in);
+      //mark as recently used
+      Files.setLastModifiedTime(file,
+          FileTime.fromMillis(System.currentTimeMillis()));
+      logger.info("[ChangeSetCache] Loaded changes in {} file(s) from {}",
+          changes.size(), file);
+      return Optional.of(changes);
+    } catch (Exception e) {
+      logger.warn("[ChangeSetCache] Ignoring unreadable entry {}: {}", file,
+          e.toString());
+      return Optional.empty();
+    }
+  }
+
+  public void store(String key,
+      List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> changes) {
+    try {
+      Files.createDirectories(this.directory);
+      var tmp = Files.createTempFile(this.directory, key, ".tmp");
+      try {
+        try (var out = new DataOutputStream(new BufferedOutputStream(
+            new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+          write(out, changes);
+        }
+        Files.move(tmp, this.directory.resolve(key + SUFFIX),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+      logger.info("[ChangeSetCache] Stored changes in {} file(s) under {}",
+          changes.size(), key);
+      for (var entry : CacheDirectory
+          .evict(this.directory, SUFFIX, this.maxBytes)) {
+        logger.info("[ChangeSetCache] Evicted {}", entry);
+      }
+    } catch (IOException e) {
+      logger.warn("[ChangeSetCache] Failed to store changes: {}",
+          e.toString());
+    }
+  }
+
+  ///
+  /// Format: string table, then per file the changed methods, each with its
+  /// (src, dst) method pairs and their operation summaries. Strings and
+  /// methods are indices into the string table, -1 for none
+  ///
+
+  static void write(DataOutputStream out,
+      List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> changes)
+      throws IOException {
+    var strings = new LinkedHashMap<String, Integer>();
+    for (var file : changes) {
+      file.forEach((method, pairs) -> {
+        intern(strings, method);
+        for (var pair : pairs) {
+          pair.getKey().srcMethod.ifPresent(id -> intern(strings, id));
+          pair.getKey().dstMethod.ifPresent(id -> intern(strings, id));
+          for (var op : pair.getValue()) {
+            for (var s : Arrays
+                .asList(op.action, op.nodeType, op.parentType,
+                    op.dstParentType)) {
+              if (s != null) {
+                strings.putIfAbsent(s, strings.size());
+              }
+            }
+          }
+        }
+      });
+    }
+
+    out.writeInt(VERSION);
+    out.writeInt(strings.size());
+    for (var s : strings.keySet()) {
+      out.writeUTF(s);
+    }
+    out.writeInt(changes.size());
+    for (var file : changes) {
+      out.writeInt(file.size());
+      for (var method : file.entrySet()) {
+        writeMethod(out, strings, method.getKey());
+        out.writeInt(method.getValue().size());
+        for (var pair : method.getValue()) {
+          writeMethod(out, strings, pair.getKey().srcMethod.orElse(null));
+          writeMethod(out, strings, pair.getKey().dstMethod.orElse(null));
+          out.writeInt(pair.getValue().size());
+          for (var op : pair.getValue()) {
+            out.writeInt(strings.get(op.action));
+            out.writeInt(strings.get(op.nodeType));
+            out.writeInt(strings.get(op.parentType));
+            out.writeInt(op.line);
+            out.writeInt(
+                op.dstParentType == null ? -1 : strings.get(op.dstParentType));
+            out.writeInt(op.dstLine);
+          }
+        }
+      }
+    }
+  }
+
+  private static void intern(Map<String, Integer> strings, JVMIdentifier id) {
+    strings.putIfAbsent(id.clazzName, strings.size());
+    strings.putIfAbsent(id.methodName, strings.size());
+    strings.putIfAbsent(id.methodDesc, strings.size());
+  }
+
+  private static void writeMethod(DataOutputStream out,
+      Map<String, Integer> strings, JVMIdentifier id) throws IOException {
+    if (id == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(strings.get(id.clazzName));
+    out.writeInt(strings.get(id.methodName));
+    out.writeInt(strings.get(id.methodDesc));
+  }
+
+  static List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> read(
+      DataInputStream in) throws IOException {
+    if (in.readInt() != VERSION) {
+      throw new IOException("Unsupported cache format");
+    }
+    var strings = new String[in.readInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = in.readUTF();
+    }
+    var files = in.readInt();
+    var changes = new ArrayList<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>(
+        files);
+    for (int f = 0; f < files; f++) {
+      var methods = in.readInt();
+      var file = new HashMap<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>();
+      for (int m = 0; m < methods; m++) {
+        var method = readMethod(in, strings).get();
+        var pairs = new ArrayList<Map.Entry<MethodStats, List<OperationSummary>>>();
+        for (int p = in.readInt(); p > 0; p--) {
+          var stats = new MethodStats(readMethod(in, strings),
+              readMethod(in, strings));
+          var ops = new ArrayList<OperationSummary>();
+          for (int o = in.readInt(); o > 0; o--) {
+            var action = strings[in.readInt()];
+            var nodeType = strings[in.readInt()];
+            var parentType = strings[in.readInt()];
+            var line = in.readInt();
+            var dstParent = in.readInt();
+            var dstLine = in.readInt();
+            ops.add(new OperationSummary(action, nodeType, parentType, line,
+                dstParent < 0 ? null : strings[dstParent], dstLine));
+          }
+          pairs.add(new AbstractMap.SimpleImmutableEntry<>(stats, ops));
+        }
+        file.put(method, pairs);
+      }
+      changes.add(file);
+    }
+    return changes;
+  }
+
+  private static Optional<JVMIdentifier> readMethod(DataInputStream in,
+      String[] strings) throws IOException {
+    var clazz = in.readInt();
+    if (clazz < 0) {
+      return Optional.empty();
+    }
+    var name = strings[in.readInt()];
+    var desc = strings[in.readInt()];
+    return Optional.of(JVMIdentifier.of(strings[clazz], name, desc));
+  }
+}
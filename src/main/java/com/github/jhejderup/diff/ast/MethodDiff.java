@@ -32,7 +32,6 @@ import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtPackage;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class MethodDiff {
 
@@ -41,6 +40,8 @@ public final class MethodDiff {
   public final Diff     editScript;
   public final FileDiff fileDiff;
 
+  private final Map<CtElement, CtElement> outermost = new IdentityHashMap<>();
+
   public MethodDiff(Diff editScript, FileDiff fileDiff) {
     this.editScript = editScript;
     this.fileDiff = fileDiff;
@@ -50,47 +51,64 @@ public final class MethodDiff {
     return el instanceof CtExecutable;
   }
 
-  private static boolean isChangeInMethod(Operation op) {
-    try {
-      var methodSrc = op.getSrcNode().getParent(MethodDiff::isMethodKind);
-
-      if (op.getDstNode() != null) {
-        var methodDst = op.getDstNode().getParent(MethodDiff::isMethodKind);
-        return methodSrc != null || methodDst != null;
-      } else {
-        return methodSrc != null;
-      }
-
-    } catch (Exception el) {
+  private boolean isChangeInMethod(Operation op) {
+    if (op.getSrcNode() == null) {
       return false;
     }
+    if (outermostMethod(op.getSrcNode()) != null) {
+      return true;
+    }
+    return op.getDstNode() != null
+        && outermostMethod(op.getDstNode()) != null;
   }
 
-  private static Optional<CtElement> getTopLevelMethod(CtElement node) {
-
+  private Optional<CtElement> getTopLevelMethod(CtElement node) {
     //1. check if the node is a method kind
     if (isMethodKind(node)) {
       return Optional.of(node);
     }
-    //2. find the parent node that is a method
-    var parent = node.getParent();
-    var stack = new Stack<CtElement>();
-
-    //3. traverse to the top of the tree
-    while (parent != null && !(parent instanceof CtPackage) && node != parent) {
-      stack.push(parent);
-      parent = parent.getParent();
-    }
-
-    //4. pop the stack until we find our top-level method
-    while (stack.size() > 0) {
-      var el = stack.pop();
+    //2. the outermost method around it
+    return Optional.ofNullable(outermostMethod(node));
+  }
 
-      if (isMethodKind(el)) {
-        return Optional.of(el);
+  /**
+   * the outermost method kind among the ancestors of `node` (below its
+   * package), or null.
+   * <p>
+   * Ancestors are resolved once per edit script: a walk up from `node` stops
+   * at the first ancestor seen before, and every node on the way is then
+   * recorded top-down.
+   */
+  private CtElement outermostMethod(CtElement node) {
+    if (outermost.containsKey(node)) {
+      return outermost.get(node);
+    }
+    var path = new ArrayList<CtElement>();
+    CtElement method = null;
+    var el = node;
+    while (true) {
+      path.add(el);
+      var parent = el.isParentInitialized() ? el.getParent() : null;
+      if (parent == null || parent instanceof CtPackage || parent == el) {
+        break;
+      }
+      if (outermost.containsKey(parent)) {
+        method = outermost.get(parent);
+        if (method == null && isMethodKind(parent)) {
+          method = parent;
+        }
+        break;
       }
+      el = parent;
     }
-    return Optional.empty();
+    // path[i + 1] is the parent of path[i]
+    for (int i = path.size() - 1; i >= 0; i--) {
+      outermost.put(path.get(i), method);
+      if (method == null && isMethodKind(path.get(i))) {
+        method = path.get(i);
+      }
+    }
+    return outermost.get(node);
   }
 
   private static boolean isSupportedOperation(Operation op) {
@@ -213,36 +231,45 @@ public final class MethodDiff {
 
   }
 
+  /**
+   * edit operations by changed method of the old version, and by the
+   * (old, new) pair of methods they belong to
+   */
   public Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> getChangedMethods() {
 
     var operations = fileDiff.isFileRemoval() ?
         editScript.getAllOperations() :
         editScript.getRootOperations();
 
-    var changedMethods = operations.stream()
-        .filter(MethodDiff::isSupportedOperation)
-        .filter(MethodDiff::isChangeInMethod).map(op -> {
-          if (op instanceof InsertOperation) {
-            return processInserts((InsertOperation) op);
-          } else if (op instanceof DeleteOperation) {
-            return processDeletions((DeleteOperation) op);
-          } else if (op instanceof UpdateOperation
-              || op instanceof MoveOperation) {
-            return processUpdatesAndMoves(op);
-          }
-          return null;
-
-        }).filter(Objects::nonNull)
-        .collect(Collectors.groupingBy(MethodChange::getMethod));
-
-    var groupedMethods = changedMethods.entrySet().stream().collect(Collectors
-        .toMap(Map.Entry::getKey,
-            m -> m.getValue().stream().map(mc -> mc.change)
-                .collect(Collectors.toList())));
-
-    return groupedMethods.entrySet().stream()
-        .collect(Collectors.groupingBy(m -> m.getKey().getSrcMethod()));
+    var changedMethods = new HashMap<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>>();
+    var byPair = new HashMap<MethodStats, List<Operation>>();
+    for (var op : operations) {
+      if (!isSupportedOperation(op) || !isChangeInMethod(op)) {
+        continue;
+      }
+      MethodChange change;
+      if (op instanceof InsertOperation) {
+        change = processInserts((InsertOperation) op);
+      } else if (op instanceof DeleteOperation) {
+        change = processDeletions((DeleteOperation) op);
+      } else {
+        change = processUpdatesAndMoves(op);
+      }
+      if (change == null) {
+        continue;
+      }
 
+      var changes = byPair.get(change.method);
+      if (changes == null) {
+        changes = new ArrayList<>();
+        byPair.put(change.method, changes);
+        changedMethods.computeIfAbsent(change.method.getSrcMethod(),
+            m -> new ArrayList<>())
+            .add(new AbstractMap.SimpleImmutableEntry<>(change.method, changes));
+      }
+      changes.add(change.change);
+    }
+    return changedMethods;
   }
 
 }
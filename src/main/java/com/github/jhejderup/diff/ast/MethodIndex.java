@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.ast;
+
+import com.github.gumtreediff.actions.model.Delete;
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.file.FileDiff;
+import gumtree.spoon.builder.SpoonGumTreeBuilder;
+import gumtree.spoon.diff.operations.DeleteOperation;
+import gumtree.spoon.diff.operations.Operation;
+import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtExecutable;
+import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * The methods and constructors of a type (nested member types included) by
+ * JVM signature, each with a hash of its printed tokens, so comments,
+ * formatting and positions don't count as changes.
+ * <p>
+ * Two versions of a type are then diffed method by method: identical
+ * methods are skipped, GumTree only matches the subtrees of the methods whose
+ * hash differs, and deleted methods come straight from the index. Added
+ * methods are not changes of the old version, so they are left out as in a
+ * whole-type diff.
+ */
+final class MethodIndex {
+
+  private final Map<JVMIdentifier, Method> methods = new LinkedHashMap<>();
+
+  private MethodIndex() {
+  }
+
+  /**
+   * method-level diff on by default, disable with
+   * `-Duppdatera.diff.methodLevel=false`
+   */
+  static boolean isEnabled() {
+    return !"false"
+        .equalsIgnoreCase(System.getProperty("uppdatera.diff.methodLevel"));
+  }
+
+  /**
+   * empty if the type has code whose signature isn't stable between versions
+   * (initializer blocks, lambdas or anonymous classes outside of a method) or
+   * two executables with the same signature, then the whole type is diffed
+   */
+  static Optional<MethodIndex> of(CtType<?> type) {
+    var index = new MethodIndex();
+    for (var executable : type
+        .getElements(new TypeFilter<>(CtExecutable.class))) {
+      if (executable.getParent(CtExecutable.class) != null) {
+        continue; // part of its top-level method
+      }
+      if (!(executable instanceof CtMethod
+          || executable instanceof CtConstructor)) {
+        return Optional.empty();
+      }
+      var declaring = executable.getParent(CtType.class);
+      if (declaring == null || declaring.isAnonymous() || declaring
+          .isLocalType()) {
+        return Optional.empty();
+      }
+      var id = JVMIdentifier.SpoonToJVMString(executable);
+      if (index.methods.put(id, new Method(executable)) != null) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(index);
+  }
+
+  int size() {
+    return methods.size();
+  }
+
+  /**
+   * changed methods of the old version, as {@link MethodDiff#getChangedMethods()}
+   * reports them for a whole-type diff
+   */
+  Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> diff(
+      MethodIndex dst, AstComperator comperator, FileDiff fd) {
+    var changed = new HashMap<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>>();
+    methods.forEach((id, src) -> {
+      var other = dst.methods.get(id);
+      if (other == null) {
+        // the builder wraps the executable in a root without a Spoon node
+        var tree = new SpoonGumTreeBuilder().getTree(src.executable)
+            .getChild(0);
+        var stats = new MethodStats(Optional.of(id), Optional.empty());
+        var deletion = new ArrayList<Map.Entry<MethodStats, List<Operation>>>();
+        deletion.add(new AbstractMap.SimpleImmutableEntry<>(stats,
+            Collections.singletonList(new DeleteOperation(new Delete(tree)))));
+        changed.put(id, deletion);
+      } else if (!src.hash.equals(other.hash)) {
+        new MethodDiff(comperator.compare(src.executable, other.executable), fd)
+            .getChangedMethods().forEach((method, changes) -> changed
+            .computeIfAbsent(method, m -> new ArrayList<>()).addAll(changes));
+      }
+    });
+    return changed;
+  }
+
+  private static final class Method {
+    final CtExecutable<?> executable;
+    final String          hash;
+
+    Method(CtExecutable<?> executable) {
+      this.executable = executable;
+      this.hash = hash(executable.toString());
+    }
+  }
+
+  private static String hash(String tokens) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(tokens.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.ast;
+
+import com.github.jhejderup.DaemonThreadFactory;
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.OperationSummary;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.file.FileDiff;
+import com.github.jhejderup.events.Events;
+import com.github.jhejderup.metrics.Stage;
+import gumtree.spoon.diff.Diff;
+import gumtree.spoon.diff.operations.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the AST comparison of changed files on a fixed-size worker pool.
+ * <p>
+ * Results are merged in the order of the incoming {@link FileDiff} stream, so
+ * the outcome does not depend on which worker finishes first.
+ * <p>
+ * In shared-model mode all old files and all new files are first parsed in
+ * one compilation per side, after which the workers only run the GumTree
+ * comparison of the types they look up in those two models.
+ * <p>
+ * A worker turns the edit script of its file into {@link OperationSummary}s
+ * right away, so no result refers to a Spoon model: parsed file by file, the
+ * model of a file can be collected as soon as it is compared, and the types
+ * of a file are dropped from the shared models it built once no other file
+ * diff needs them. The heap then holds the files not compared yet, rather
+ * than the whole change set until the last file is done.
+ */
+public final class ParallelDiffer {
+
+  private static Logger logger = LoggerFactory.getLogger(ParallelDiffer.class);
+
+  private final AstComperator comperator;
+  private final int           workers;
+  private final boolean       sharedModel;
+
+  public ParallelDiffer(int workers, boolean sharedModel, String... classPath) {
+    assert workers > 0;
+    this.comperator = new AstComperator(classPath);
+    this.workers = workers;
+    this.sharedModel = sharedModel;
+  }
+
+  /**
+   * number of workers, configurable with `-Duppdatera.diff.workers=N`
+   */
+  public static int defaultWorkers() {
+    return Math.max(1, Integer.getInteger("uppdatera.diff.workers",
+        Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * one model per version, disable with `-Duppdatera.diff.sharedModel=false`
+   */
+  public static boolean defaultSharedModel() {
+    return !"false"
+        .equalsIgnoreCase(System.getProperty("uppdatera.diff.sharedModel"));
+  }
+
+  public Result diff(Stream<FileDiff> fileDiffs) {
+    return diff(fileDiffs, null);
+  }
+
+  /**
+   * @param stage stage to add a file stage per compared file to, or null
+   */
+  public Result diff(Stream<FileDiff> fileDiffs, Stage stage) {
+    var files = fileDiffs.collect(Collectors.toList());
+    var pool = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, files.size())),
+        new DaemonThreadFactory("uppdatera-diff-"));
+
+    try {
+      var models = sharedModel && files.size() > 0 ?
+          buildModels(files, pool, stage) :
+          null;
+      return diff(files, models, models != null, pool, stage);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while diffing files", e);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * compares files with their types in models built before, e.g. the model
+   * of a version shared by the diffs to and from it
+   *
+   * @param stage stage to add a file stage per compared file to, or null
+   */
+  public Result diff(List<FileDiff> files, SpoonModel oldModel,
+      SpoonModel newModel, Stage stage) {
+    var pool = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, files.size())),
+        new DaemonThreadFactory("uppdatera-diff-"));
+    try {
+      return diff(files, new SpoonModel[] { oldModel, newModel }, false, pool,
+          stage);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while diffing files", e);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * @param release drop the types of a file from `models` once compared
+   */
+  private Result diff(List<FileDiff> files, SpoonModel[] models,
+      boolean release, ExecutorService pool, Stage stage)
+      throws InterruptedException {
+    // per model, the file diffs left that use a file (e.g. a copied file)
+    var uses = Arrays.asList(new ConcurrentHashMap<Path, Integer>(),
+        new ConcurrentHashMap<Path, Integer>());
+    if (release) {
+      files.forEach(fd -> {
+        fd.srcFile.ifPresent(file -> uses.get(0).merge(file, 1, Integer::sum));
+        dstFile(fd)
+            .ifPresent(file -> uses.get(1).merge(file, 1, Integer::sum));
+      });
+    }
+    var tasks = new ArrayList<Future<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>>(
+        files.size());
+    files.forEach(fd -> tasks.add(pool.submit(() -> {
+      try (var file = stage == null ? null : stage.file(name(fd))) {
+        var event = Events.sourceFileDiff();
+        var nodes = new int[2];
+        // summaries don't keep the file's trees (or its model) reachable
+        var md = OperationSummary
+            .summarize(diffFile(fd, models, event.isEnabled() ? nodes : null));
+        var operations = md.values().stream().flatMap(List::stream)
+            .mapToInt(change -> change.getValue().size()).sum();
+        event.commit(name(fd), nodes[0], nodes[1], operations, md.size());
+        if (file != null) {
+          file.count("changedMethods", md.size())
+              .count("operations", operations);
+        }
+        return md;
+      } finally {
+        if (release) {
+          release(fd, models, uses);
+        }
+      }
+    })));
+
+    var changedMethods = new ArrayList<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>>();
+    var failures = new ArrayList<Failure>();
+
+    for (int i = 0; i < files.size(); i++) {
+      var fd = files.get(i);
+      try {
+        var md = tasks.get(i).get();
+        if (md.size() > 0) { //remove files w/o relevant changes
+          changedMethods.add(md);
+        }
+      } catch (ExecutionException e) {
+        var cause = e.getCause() == null ? e : e.getCause();
+        logger.warn("[Differ] Failed to compare {}: {}", fd, cause.toString());
+        failures.add(new Failure(fd, cause));
+      }
+    }
+
+    if (failures.size() > 0) {
+      logger.warn("[Differ] {} out of {} file(s) could not be compared",
+          failures.size(), files.size());
+    }
+    return new Result(changedMethods, failures);
+  }
+
+  private SpoonModel[] buildModels(List<FileDiff> files, ExecutorService pool,
+      Stage stage) throws InterruptedException {
+    var srcFiles = files.stream().filter(fd -> fd.srcFile.isPresent())
+        .map(fd -> fd.srcFile.get()).collect(Collectors.toList());
+    var dstFiles = files.stream().filter(fd -> !fd.isFileRemoval())
+        .filter(fd -> fd.dstFile.isPresent())
+        .map(fd -> fd.dstFile.get()).collect(Collectors.toList());
+
+    // measured like files, as they run on the workers
+    var left = pool.submit(() -> {
+      try (var file = stage == null ? null : stage.file("old model")) {
+        var model = comperator.buildModel(srcFiles);
+        if (file != null) {
+          file.count("types", model.size());
+        }
+        return model;
+      }
+    });
+    var right = pool.submit(() -> {
+      try (var file = stage == null ? null : stage.file("new model")) {
+        var model = comperator.buildModel(dstFiles);
+        if (file != null) {
+          file.count("types", model.size());
+        }
+        return model;
+      }
+    });
+    try {
+      var models = new SpoonModel[] { left.get(), right.get() };
+      logger.info("[Differ] Built shared models of {} and {} type(s)",
+          models[0].size(), models[1].size());
+      return models;
+    } catch (ExecutionException e) {
+      logger.warn(
+          "[Differ] Failed to build shared models, parsing file by file: {}",
+          e.getCause() == null ? e.toString() : e.getCause().toString());
+      return null;
+    }
+  }
+
+  private static void release(FileDiff fd, SpoonModel[] models,
+      List<ConcurrentHashMap<Path, Integer>> uses) {
+    fd.srcFile.filter(file -> uses.get(0).merge(file, -1, Integer::sum) == 0)
+        .ifPresent(models[0]::release);
+    dstFile(fd).filter(file -> uses.get(1).merge(file, -1, Integer::sum) == 0)
+        .ifPresent(models[1]::release);
+  }
+
+  /**
+   * the new file of a diff, none for a removed file
+   */
+  private static Optional<Path> dstFile(FileDiff fd) {
+    return fd.isFileRemoval() ? Optional.empty() : fd.dstFile;
+  }
+
+  private static String name(FileDiff fd) {
+    return (fd.srcFile.isPresent() ? fd.srcFile : fd.dstFile)
+        .map(Object::toString).orElse(fd.toString());
+  }
+
+  /**
+   * changed methods of the old version, diffed method by method when both
+   * types can be indexed (see {@link MethodIndex})
+   *
+   * @param nodes if not null, receives the AST sizes of the old and new type
+   */
+  private Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> diffFile(
+      FileDiff fd, SpoonModel[] models, int[] nodes) throws Exception {
+    var srcFile = fd.srcFile;
+    var dstFile = fd.dstFile;
+
+    logger.info("Compare File: {} -> {}", srcFile, dstFile);
+
+    CtType<?> srcType, dstType;
+    if (models == null) {
+      srcType = comperator.getCtType(srcFile.get());
+      dstType = fd.isFileRemoval() ? null : comperator.getCtType(dstFile.get());
+    } else {
+      srcType = models[0].getType(srcFile.get()).orElse(null);
+      dstType = fd.isFileRemoval() ?
+          null :
+          models[1].getType(dstFile.get()).orElse(null);
+    }
+    if (nodes != null) {
+      nodes[0] = size(srcType);
+      nodes[1] = size(dstType);
+    }
+
+    if (MethodIndex.isEnabled() && srcType != null && dstType != null) {
+      var src = MethodIndex.of(srcType);
+      var dst = MethodIndex.of(dstType);
+      if (src.isPresent() && dst.isPresent()) {
+        return src.get().diff(dst.get(), comperator, fd);
+      }
+    }
+
+    Diff editScript = comperator.compare(srcType, dstType);
+    return new MethodDiff(editScript, fd).getChangedMethods();
+  }
+
+  private static int size(CtType<?> type) {
+    return type == null ?
+        0 :
+        type.getElements(new TypeFilter<>(CtElement.class)).size();
+  }
+
+  public static final class Result {
+    public final List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> changedMethods;
+    public final List<Failure>                                                                    failures;
+
+    public Result(
+        List<Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>>> changedMethods,
+        List<Failure> failures) {
+      this.changedMethods = changedMethods;
+      this.failures = failures;
+    }
+  }
+
+  public static final class Failure {
+    public final FileDiff  fileDiff;
+    public final Throwable cause;
+
+    public Failure(FileDiff fileDiff, Throwable cause) {
+      this.fileDiff = fileDiff;
+      this.cause = cause;
+    }
+
+    @Override
+    public String toString() {
+      return fileDiff + ": " + cause;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.ast;
+
+import spoon.reflect.cu.CompilationUnit;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A Spoon model of many source files, built in a single compilation.
+ * <p>
+ * Types are looked up through the compilation unit of their file (or by
+ * qualified name), never by position in the model, so any number of types can
+ * be handed out from the same factory. Once a file was compared, its types
+ * can be released so the model shrinks as the diff proceeds.
+ */
+public final class SpoonModel {
+
+  private final Factory                factory;
+  private final Map<String, CtType<?>> typesByFile;
+  /**
+   * file -> key of its compilation unit in the factory
+   */
+  private final Map<String, String>    unitsByFile;
+
+  SpoonModel(Factory factory) {
+    this.factory = factory;
+    this.typesByFile = new HashMap<>();
+    this.unitsByFile = new HashMap<>();
+    factory.CompilationUnit().getMap().forEach((unit, cu) -> {
+      var type = mainType(cu);
+      if (type != null && cu.getFile() != null) {
+        this.typesByFile.put(key(cu.getFile()), type);
+        this.unitsByFile.put(key(cu.getFile()), unit);
+      }
+    });
+  }
+
+  /**
+   * the type named after the file, or the first declared one
+   */
+  static CtType<?> mainType(CompilationUnit cu) {
+    var types = cu.getDeclaredTypes();
+    if (types.isEmpty()) {
+      return null;
+    }
+    if (cu.getFile() != null) {
+      var name = cu.getFile().getName();
+      var simpleName = name.endsWith(".java") ?
+          name.substring(0, name.length() - ".java".length()) :
+          name;
+      for (var type : types) {
+        if (type.getSimpleName().equals(simpleName)) {
+          return type;
+        }
+      }
+    }
+    return types.get(0);
+  }
+
+  private static String key(File file) {
+    try {
+      return file.getCanonicalPath();
+    } catch (IOException e) {
+      return file.getAbsolutePath();
+    }
+  }
+
+  public synchronized Optional<CtType<?>> getType(File file) {
+    return Optional.ofNullable(this.typesByFile.get(key(file)));
+  }
+
+  /**
+   * files outside of the default file system are known by their path (see
+   * {@link AstComperator#resource(Path)})
+   */
+  public Optional<CtType<?>> getType(Path path) {
+    return getType(file(path));
+  }
+
+  private static File file(Path path) {
+    return path.getFileSystem() == FileSystems.getDefault() ?
+        path.toFile() :
+        new File(path.toString());
+  }
+
+  /**
+   * drops the compilation unit of a file and the types it declares from the
+   * model; elements handed out before stay intact
+   */
+  public synchronized void release(Path path) {
+    var key = key(file(path));
+    this.typesByFile.remove(key);
+    var unit = this.unitsByFile.remove(key);
+    if (unit == null) {
+      return;
+    }
+    var cu = this.factory.CompilationUnit().removeFromCache(unit);
+    if (cu == null) {
+      return;
+    }
+    for (var type : cu.getDeclaredTypes()) {
+      var pkg = type.getPackage();
+      if (pkg != null) {
+        pkg.removeType(type);
+      }
+    }
+  }
+
+  public synchronized Optional<CtType<?>> getType(String qualifiedName) {
+    return Optional.ofNullable(this.factory.Type().get(qualifiedName));
+  }
+
+  public synchronized int size() {
+    return this.typesByFile.size();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.bytecode;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.file.FileDiff;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Methods whose bytecode differs between two versions of a jar, per source
+ * file.
+ * <p>
+ * Only answers "unchanged" when it can prove it: a source file or method
+ * missing from either jar, or a class that could not be read, always counts
+ * as changed.
+ */
+public final class BytecodeDiff {
+
+  private static Logger logger = LoggerFactory.getLogger(BytecodeDiff.class);
+
+  private final Set<JVMIdentifier> changedMethods   = new HashSet<>();
+  private final Set<JVMIdentifier> unchangedMethods = new HashSet<>();
+  private final Set<String>        unchangedSources = new HashSet<>();
+
+  BytecodeDiff(Map<String, BytecodeDiffer.SourceFile> left,
+      Map<String, BytecodeDiffer.SourceFile> right) {
+    for (var oldSource : left.values()) {
+      var newSource = right.get(oldSource.name);
+      if (newSource == null) {
+        changedMethods.addAll(oldSource.methods.keySet());
+        continue;
+      }
+
+      var changed = new HashSet<JVMIdentifier>();
+      var unchanged = new HashSet<JVMIdentifier>();
+      oldSource.methods.forEach((id, method) -> {
+        var other = newSource.methods.get(id);
+        if (other != null && other.hash.equals(method.hash)) {
+          unchanged.add(id);
+        } else {
+          changed.add(id);
+        }
+      });
+      newSource.methods.keySet().stream()
+          .filter(id -> !oldSource.methods.containsKey(id))
+          .forEach(changed::add);
+      changedMethods.addAll(changed);
+
+      var readable = oldSource.readable && newSource.readable;
+      if (readable && changed.isEmpty()) {
+        unchangedSources.add(oldSource.name);
+      }
+
+      // a changed lambda or anonymous class shows up as a change of its
+      // enclosing method in the AST, so we can't vouch for any method then
+      var nested = changed.stream().anyMatch(id -> isNested(id, oldSource)
+          || isNested(id, newSource));
+      if (readable && !nested) {
+        unchangedMethods.addAll(unchanged);
+      }
+    }
+    right.values().stream().filter(source -> !left.containsKey(source.name))
+        .forEach(source -> changedMethods.addAll(source.methods.keySet()));
+  }
+
+  private static boolean isNested(JVMIdentifier id,
+      BytecodeDiffer.SourceFile source) {
+    var method = source.methods.get(id);
+    return method != null && method.nested;
+  }
+
+  /**
+   * changed, added and removed methods
+   */
+  public Set<JVMIdentifier> getChangedMethods() {
+    return Collections.unmodifiableSet(changedMethods);
+  }
+
+  /**
+   * true if the method exists in both versions with identical bytecode
+   */
+  public boolean isUnchanged(JVMIdentifier method) {
+    return unchangedMethods.contains(method);
+  }
+
+  /**
+   * true if the modified source file compiles to classes without any changed
+   * method, `srcRoot` is the folder holding the old sources
+   */
+  public boolean isUnchanged(FileDiff fd, Path srcRoot) {
+    if (fd.type != FileDiff.Change.MODIFICATION || !fd.srcFile.isPresent()
+        || !fd.srcFile.get().startsWith(srcRoot)) {
+      return false;
+    }
+    var source = srcRoot.relativize(fd.srcFile.get()).toString()
+        .replace('\\', '/');
+    if (unchangedSources.contains(source)) {
+      logger.info("[BytecodeDiff] Skipping {}, no method changed in bytecode",
+          source);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * drops methods that the bytecode shows are unchanged
+   */
+  public <V> Map<JVMIdentifier, V> retainChanged(Map<JVMIdentifier, V> methods) {
+    return methods.entrySet().stream().filter(e -> {
+      if (isUnchanged(e.getKey())) {
+        logger.info("[BytecodeDiff] Ignoring AST changes in {}, bytecode is unchanged",
+            e.getKey());
+        return false;
+      }
+      return true;
+    }).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.bytecode;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.ibm.wala.shrikeBT.shrikeCT.CTDecoder;
+import com.ibm.wala.shrikeCT.ClassReader;
+import com.ibm.wala.shrikeCT.CodeReader;
+import com.ibm.wala.shrikeCT.SourceFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.ZipFile;
+
+/**
+ * Compares two binary jars method by method.
+ * <p>
+ * Every method body is decoded into instructions that carry their resolved
+ * operands (types, members, constants, branch targets as instruction
+ * indices), so the hash ignores constant-pool ordering, line-number and
+ * local-variable tables and anything else that is not executed.
+ */
+public final class BytecodeDiffer {
+
+  private static Logger logger = LoggerFactory.getLogger(BytecodeDiffer.class);
+
+  private BytecodeDiffer() {
+  }
+
+  /**
+   * prefilter on by default, disable with
+   * `-Duppdatera.diff.bytecodeFilter=false`
+   */
+  public static boolean isEnabled() {
+    return !"false"
+        .equalsIgnoreCase(System.getProperty("uppdatera.diff.bytecodeFilter"));
+  }
+
+  public static Optional<BytecodeDiff> diff(Path oldJar, Path newJar) {
+    try {
+      var diff = new BytecodeDiff(index(oldJar), index(newJar));
+      logger.info(
+          "[BytecodeDiffer] {} method(s) changed between {} and {}",
+          diff.getChangedMethods().size(), oldJar.getFileName(),
+          newJar.getFileName());
+      return Optional.of(diff);
+    } catch (IOException e) {
+      logger.error("[BytecodeDiffer] Failed to read {} or {}: {}", oldJar,
+          newJar, e.toString());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * source files (e.g. `a/b/C.java`) that declare the given classes (internal
+   * names), read from their SourceFile attributes in the jar
+   */
+  public static Optional<Set<String>> sourceFiles(Path jar,
+      Set<String> classes) {
+    var sources = new HashSet<String>();
+    try (var zip = new ZipFile(jar.toFile())) {
+      for (var className : classes) {
+        var entry = zip.getEntry(className + ".class");
+        if (entry == null) {
+          sources.add(defaultSourceName(className));
+          continue;
+        }
+        try (var in = zip.getInputStream(entry)) {
+          sources.add(sourceName(new ClassReader(readAll(in)), className));
+        } catch (Exception e) {
+          sources.add(defaultSourceName(className));
+        }
+      }
+    } catch (IOException e) {
+      logger.error("[BytecodeDiffer] Failed to read {}: {}", jar,
+          e.toString());
+      return Optional.empty();
+    }
+    return Optional.of(sources);
+  }
+
+  ///
+  /// Indexing
+  ///
+
+  /**
+   * method hashes of every class in the jar, grouped by the source file the
+   * class was compiled from
+   */
+  static Map<String, SourceFile> index(Path jar) throws IOException {
+    var sources = new HashMap<String, SourceFile>();
+    try (var zip = new ZipFile(jar.toFile())) {
+      var entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        var entry = entries.nextElement();
+        if (entry.isDirectory() || !entry.getName().endsWith(".class")
+            || entry.getName().startsWith("META-INF/")) {
+          continue;
+        }
+        byte[] bytes;
+        try (var in = zip.getInputStream(entry)) {
+          bytes = readAll(in);
+        }
+        indexClass(entry.getName(), bytes, sources);
+      }
+    }
+    return sources;
+  }
+
+  private static void indexClass(String entryName, byte[] bytes,
+      Map<String, SourceFile> sources) {
+    //fallback if we can't read the class: it belongs to its outer class
+    var className = entryName.substring(0, entryName.length() - 6);
+    var source = defaultSourceName(className);
+    try {
+      var reader = new ClassReader(bytes);
+      className = reader.getName();
+      source = sourceName(reader, className);
+
+      var methods = new HashMap<JVMIdentifier, Method>();
+      var clazz = "L" + className;
+      var attrs = new ClassReader.AttrIterator();
+      for (int m = 0; m < reader.getMethodCount(); m++) {
+        var id = JVMIdentifier
+            .of(clazz, reader.getMethodName(m), reader.getMethodType(m));
+        var flags = reader.getMethodAccessFlags(m);
+        reader.initMethodAttributeIterator(m, attrs);
+        methods.put(id, new Method(hash(flags, attrs),
+            isSynthetic(flags) || isAnonymousOrLocal(className)));
+      }
+      sources.computeIfAbsent(source, SourceFile::new).methods.putAll(methods);
+    } catch (Exception e) {
+      logger.warn("[BytecodeDiffer] Unable to read {}: {}", entryName,
+          e.toString());
+      sources.computeIfAbsent(source, SourceFile::new).readable = false;
+    }
+  }
+
+  private static String sourceName(ClassReader reader, String className)
+      throws Exception {
+    var attrs = new ClassReader.AttrIterator();
+    reader.initClassAttributeIterator(attrs);
+    for (; attrs.isValid(); attrs.advance()) {
+      if (attrs.getName().equals("SourceFile")) {
+        var file = new SourceFileReader(attrs).getSourceFile();
+        var pkg = className.lastIndexOf('/');
+        return pkg < 0 ? file : className.substring(0, pkg + 1) + file;
+      }
+    }
+    return defaultSourceName(className);
+  }
+
+  private static String defaultSourceName(String className) {
+    var nested = className.indexOf('$');
+    return (nested < 0 ? className : className.substring(0, nested)) + ".java";
+  }
+
+  private static String hash(int flags, ClassReader.AttrIterator attrs)
+      throws Exception {
+    var digest = sha256();
+    digest.update(Integer.toString(flags).getBytes(StandardCharsets.UTF_8));
+    for (; attrs.isValid(); attrs.advance()) {
+      if (!attrs.getName().equals("Code")) {
+        continue;
+      }
+      var decoder = new CTDecoder(new CodeReader(attrs));
+      decoder.decode();
+      var instructions = decoder.getInstructions();
+      var handlers = decoder.getHandlers();
+      var text = new StringBuilder();
+      for (int i = 0; i < instructions.length; i++) {
+        text.setLength(0);
+        text.append('\n').append(instructions[i]);
+        for (var handler : handlers[i]) {
+          text.append(" catch ").append(handler.getCatchClass()).append("->")
+              .append(handler.getHandler());
+        }
+        digest.update(text.toString().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    return Base64.getEncoder().encodeToString(digest.digest());
+  }
+
+  /**
+   * lambda bodies, bridges and accessors end up in synthetic methods
+   */
+  private static boolean isSynthetic(int flags) {
+    return (flags & 0x1000) != 0;
+  }
+
+  /**
+   * `Outer$1` and `Outer$1Local` are declared inside a method body
+   */
+  private static boolean isAnonymousOrLocal(String className) {
+    var simpleName = className.substring(className.lastIndexOf('/') + 1);
+    for (var part : simpleName.split("\\$")) {
+      if (part.length() > 0 && Character.isDigit(part.charAt(0))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    var buffer = new byte[8192];
+    var out = new ByteArrayOutputStream();
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static final class SourceFile {
+    final String                     name;
+    final Map<JVMIdentifier, Method> methods  = new HashMap<>();
+    boolean                          readable = true;
+
+    SourceFile(String name) {
+      this.name = name;
+    }
+  }
+
+  static final class Method {
+    final String  hash;
+    /**
+     * code that the AST diff attributes to an enclosing method
+     */
+    final boolean nested;
+
+    Method(String hash, boolean nested) {
+      this.hash = hash;
+      this.nested = nested;
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.diff.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * Compares two jars by their central directories (entry name, CRC-32 and
+ * size) without extracting or decompressing anything.
+ * <p>
+ * Entries that only exist in one jar are paired up as a rename when the
+ * other jar has an entry of the same content (CRC-32 and size), preferring
+ * one with the same file name, otherwise they are additions and deletions.
+ * Renames are exact, unlike the similarity based renames of git.
+ */
+public final class JarDiffer {
+  private static Logger logger = LoggerFactory.getLogger(JarDiffer.class);
+
+  /**
+   * file changes from `leftJar` to `rightJar`, sorted by entry name, with
+   * entry names resolved against `leftRoot` and `rightRoot` (e.g., the folder
+   * or file system the jar is read from)
+   */
+  public static Stream<FileDiff> diff(Path leftJar, Path rightJar,
+      Path leftRoot, Path rightRoot) {
+    Map<String, Entry> left, right;
+    try {
+      left = entries(leftJar);
+      right = entries(rightJar);
+    } catch (IOException e) {
+      logger.error("[JarDiffer] failed to read {} or {}: {}", leftJar,
+          rightJar, e.toString());
+      return Stream.empty();
+    }
+
+    //content of the entries only found in the right jar, for renames
+    var added = new HashMap<Entry, Deque<String>>();
+    right.forEach((name, entry) -> {
+      if (!left.containsKey(name) && entry.isKnown()) {
+        added.computeIfAbsent(entry, e -> new ArrayDeque<>()).add(name);
+      }
+    });
+
+    //renames are paired up front, so the stream is lazy and stateless
+    var renames = new HashMap<String, String>();
+    left.forEach((name, entry) -> {
+      if (!right.containsKey(name)) {
+        var target = takeRenameTarget(added.get(entry), name);
+        if (target != null) {
+          renames.put(name, target);
+        }
+      }
+    });
+    var renamed = new HashSet<>(renames.values());
+
+    var changes = left.entrySet().stream().map(e -> {
+      var name = e.getKey();
+      var other = right.get(name);
+      if (other != null) {
+        return e.getValue().equals(other) && other.isKnown() ?
+            null :
+            new FileDiff(Optional.of(leftRoot.resolve(name)),
+                Optional.of(rightRoot.resolve(name)),
+                FileDiff.Change.MODIFICATION);
+      }
+      var target = renames.get(name);
+      if (target != null) {
+        return new FileDiff(Optional.of(leftRoot.resolve(name)),
+            Optional.of(rightRoot.resolve(target)), FileDiff.Change.RENAME,
+            100);
+      }
+      return new FileDiff(Optional.of(leftRoot.resolve(name)),
+          Optional.empty(), FileDiff.Change.DELETION);
+    }).filter(Objects::nonNull);
+
+    var additions = right.keySet().stream()
+        .filter(name -> !left.containsKey(name) && !renamed.contains(name))
+        .map(name -> new FileDiff(Optional.empty(),
+            Optional.of(rightRoot.resolve(name)), FileDiff.Change.ADDITION));
+
+    return Stream.concat(changes, additions);
+  }
+
+  private static String takeRenameTarget(Deque<String> candidates,
+      String name) {
+    if (candidates == null || candidates.isEmpty()) {
+      return null;
+    }
+    var fileName = fileName(name);
+    for (var it = candidates.iterator(); it.hasNext(); ) {
+      var candidate = it.next();
+      if (fileName(candidate).equals(fileName)) {
+        it.remove();
+        return candidate;
+      }
+    }
+    return candidates.poll();
+  }
+
+  private static String fileName(String entryName) {
+    return entryName.substring(entryName.lastIndexOf('/') + 1);
+  }
+
+  private static Map<String, Entry> entries(Path jar) throws IOException {
+    var entries = new TreeMap<String, Entry>();
+    try (var zip = new ZipFile(jar.toFile())) {
+      var it = zip.entries();
+      while (it.hasMoreElements()) {
+        var entry = it.nextElement();
+        if (!entry.isDirectory()) {
+          entries.put(entry.getName(),
+              new Entry(entry.getCrc(), entry.getSize()));
+        }
+      }
+    }
+    return entries;
+  }
+
+  private static final class Entry {
+    final long crc;
+    final long size;
+
+    Entry(long crc, long size) {
+      this.crc = crc;
+      this.size = size;
+    }
+
+    /**
+     * the central directory may leave CRC and size out
+     */
+    boolean isKnown() {
+      return crc >= 0 && size >= 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(crc) * 31 + Long.hashCode(size);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof Entry))
+        return false;
+      var other = (Entry) obj;
+      return crc == other.crc && size == other.size;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.events;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Domain events of the analysis for Java Flight Recorder.
+ * <p>
+ * The JFR event classes need JDK 11 and are compiled separately (from
+ * `src/main/java11`); on older JVMs, or with `-Duppdatera.jfr=false`, all
+ * events are no-ops. An event is started by its factory method here and
+ * recorded by `commit`; arguments that are expensive to compute should only
+ * be computed when `isEnabled()`.
+ */
+public final class Events {
+
+  private static Logger  logger  = LoggerFactory.getLogger(Events.class);
+  private static Factory factory = load();
+
+  private Events() {
+  }
+
+  public static ArtifactResolution artifactResolution() {
+    return factory.artifactResolution();
+  }
+
+  public static SourceFileDiff sourceFileDiff() {
+    return factory.sourceFileDiff();
+  }
+
+  public static CallGraphConstruction callGraphConstruction() {
+    return factory.callGraphConstruction();
+  }
+
+  public static ReachabilityQuery reachabilityQuery() {
+    return factory.reachabilityQuery();
+  }
+
+  private static Factory load() {
+    if ("false".equalsIgnoreCase(System.getProperty("uppdatera.jfr"))) {
+      return Noop.INSTANCE;
+    }
+    try {
+      Class.forName("jdk.jfr.Event");
+      return (Factory) Class.forName("com.github.jhejderup.events.jfr.JfrEvents")
+          .getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException | LinkageError e) {
+      // JDK 8, or built without the JDK 11 sources
+      return Noop.INSTANCE;
+    } catch (Exception e) {
+      logger.warn("[Events] JFR events are disabled: " + e.toString());
+      return Noop.INSTANCE;
+    }
+  }
+
+  ///
+  /// Event types
+  ///
+
+  public interface Factory {
+    ArtifactResolution artifactResolution();
+
+    SourceFileDiff sourceFileDiff();
+
+    CallGraphConstruction callGraphConstruction();
+
+    ReachabilityQuery reachabilityQuery();
+  }
+
+  public interface Event {
+    boolean isEnabled();
+  }
+
+  /**
+   * resolution of one coordinate, from `source` (cache, repository or maven)
+   */
+  public interface ArtifactResolution extends Event {
+    void commit(String coordinate, String source, String file);
+  }
+
+  /**
+   * AST comparison of one source file
+   */
+  public interface SourceFileDiff extends Event {
+    void commit(String path, int srcNodes, int dstNodes, int operations,
+        int changedMethods);
+  }
+
+  public interface CallGraphConstruction extends Event {
+    void commit(String projectClassPath, String dependencyClassPath,
+        int entryPoints, int nodes, int edges);
+  }
+
+  /**
+   * one caller search, with an empty path (length 0) if no application
+   * method calls the method
+   */
+  public interface ReachabilityQuery extends Event {
+    void commit(JVMIdentifier method, int pathLength, int visited);
+  }
+
+  private static final class Noop
+      implements Factory, ArtifactResolution, SourceFileDiff,
+      CallGraphConstruction, ReachabilityQuery {
+
+    static final Noop INSTANCE = new Noop();
+
+    @Override
+    public ArtifactResolution artifactResolution() {
+      return this;
+    }
+
+    @Override
+    public SourceFileDiff sourceFileDiff() {
+      return this;
+    }
+
+    @Override
+    public CallGraphConstruction callGraphConstruction() {
+      return this;
+    }
+
+    @Override
+    public ReachabilityQuery reachabilityQuery() {
+      return this;
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void commit(String coordinate, String source, String file) {
+    }
+
+    @Override
+    public void commit(String path, int srcNodes, int dstNodes,
+        int operations, int changedMethods) {
+    }
+
+    @Override
+    public void commit(String projectClassPath, String dependencyClassPath,
+        int entryPoints, int nodes, int edges) {
+    }
+
+    @Override
+    public void commit(JVMIdentifier method, int pathLength, int visited) {
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Stage metrics of one run, written as JSON and passed to every
+ * {@link MetricsRegistry} on the classpath.
+ * <pre>
+ * try (var stage = metrics.stage("diff")) {
+ *   ...
+ *   stage.count("files", n);
+ * }
+ * </pre>
+ */
+public final class Metrics {
+
+  private static Logger                logger     = LoggerFactory
+      .getLogger(Metrics.class);
+  private static List<MetricsRegistry> registries = loadRegistries();
+
+  public final String run;
+
+  private final List<Stage> stages = new ArrayList<>();
+
+  public Metrics(String run) {
+    this.run = run;
+  }
+
+  private static List<MetricsRegistry> loadRegistries() {
+    var found = new ArrayList<MetricsRegistry>();
+    for (var registry : ServiceLoader.load(MetricsRegistry.class)) {
+      logger.info("[Metrics] Reporting to " + registry.getClass().getName());
+      found.add(registry);
+    }
+    return found;
+  }
+
+  /**
+   * starts measuring a stage, until it is closed
+   */
+  public Stage stage(String name) {
+    return new Stage(this, name, null, false);
+  }
+
+  /**
+   * starts measuring a stage that runs at the same time as another stage of
+   * this run, on the current thread and in its file stages, until it is
+   * closed
+   */
+  public Stage branch(String name) {
+    return new Stage(this, name, null, true);
+  }
+
+  void finished(Stage stage) {
+    synchronized (this) {
+      stages.add(stage);
+    }
+    for (var registry : registries) {
+      try {
+        registry.record(run, stage);
+      } catch (RuntimeException e) {
+        logger.warn("[Metrics] " + registry.getClass().getName()
+            + " failed to record " + stage.name + ": " + e.toString());
+      }
+    }
+  }
+
+  public synchronized List<Stage> getStages() {
+    return new ArrayList<>(stages);
+  }
+
+  ///
+  /// JSON
+  ///
+
+  public void writeJson(Path file) throws IOException {
+    try (var out = new PrintWriter(file.toFile(), "UTF-8")) {
+      out.println(toJson());
+    }
+  }
+
+  public String toJson() {
+    var json = new StringBuilder();
+    json.append("{\n  \"run\": ").append(quote(run))
+        .append(",\n  \"stages\": [");
+    var stages = getStages();
+    for (int i = 0; i < stages.size(); i++) {
+      json.append(i == 0 ? "\n    " : ",\n    ");
+      appendStage(json, stages.get(i), "    ");
+    }
+    return json.append(stages.isEmpty() ? "]\n}" : "\n  ]\n}").toString();
+  }
+
+  private static void appendStage(StringBuilder json, Stage stage,
+      String indent) {
+    json.append("{\"name\": ").append(quote(stage.name))
+        .append(", \"wallNanos\": ").append(stage.getWallNanos())
+        .append(", \"cpuNanos\": ").append(stage.getCpuNanos())
+        .append(", \"allocatedBytes\": ").append(stage.getAllocatedBytes());
+    if (stage.getPeakHeapBytes() >= 0) {
+      json.append(", \"peakHeapBytes\": ").append(stage.getPeakHeapBytes());
+    }
+    json.append(", \"counts\": {");
+    var first = true;
+    for (Map.Entry<String, Long> count : stage.getCounts().entrySet()) {
+      json.append(first ? "" : ", ").append(quote(count.getKey())).append(": ")
+          .append(count.getValue());
+      first = false;
+    }
+    json.append("}");
+
+    var files = stage.getFiles();
+    if (!files.isEmpty()) {
+      json.append(", \"files\": [");
+      for (int i = 0; i < files.size(); i++) {
+        json.append(i == 0 ? "\n" : ",\n").append(indent).append("  ");
+        appendStage(json, files.get(i), indent + "  ");
+      }
+      json.append("\n").append(indent).append("]");
+    }
+    json.append("}");
+  }
+
+  private static String quote(String s) {
+    var quoted = new StringBuilder("\"");
+    for (var c : s.toCharArray()) {
+      switch (c) {
+      case '"':
+        quoted.append("\\\"");
+        break;
+      case '\\':
+        quoted.append("\\\\");
+        break;
+      default:
+        if (c < 0x20) {
+          quoted.append(String.format("\\u%04x", (int) c));
+        } else {
+          quoted.append(c);
+        }
+      }
+    }
+    return quoted.append('"').toString();
+  }
+}
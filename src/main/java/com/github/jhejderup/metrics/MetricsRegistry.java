@@ -15,13 +15,20 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.github.jhejderup.diff.file;
+package com.github.jhejderup.metrics;
 
-import java.nio.file.Path;
-import java.util.stream.Stream;
+/**
+ * Receives every finished stage, e.g. to export it to a monitoring system.
+ * <p>
+ * Implementations are found with {@link java.util.ServiceLoader}, listed in
+ * `META-INF/services/com.github.jhejderup.metrics.MetricsRegistry`, and
+ * must be thread-safe.
+ */
+public interface MetricsRegistry {
 
-public interface Differ {
-  static Stream<FileDiff> diff(Path leftFolder, Path rightFolder) {
-    return Stream.empty();
-  }
+  /**
+   * @param run   name of the run, e.g. the bump being analysed
+   * @param stage the finished stage, including its per-file stages
+   */
+  void record(String run, Stage stage);
 }
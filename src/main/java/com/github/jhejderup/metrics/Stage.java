@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.*;
+
+/**
+ * Wall time, CPU time, allocated bytes, peak heap and counts of one stage of
+ * a run, measured from its creation until {@link #close()}.
+ * <p>
+ * A stage measures the whole JVM: process CPU time, the allocations of the
+ * threads alive at the end and of its file stages, and the peak of the heap
+ * pools (which are shared by concurrent runs). A branch, a stage that runs
+ * next to another one of the same run, measures the thread it runs on and
+ * its file stages, without a peak heap. A file stage measures the thread it
+ * runs on. Branches and file stages must be closed on the thread that
+ * created them.
+ */
+public final class Stage implements AutoCloseable {
+
+  private static final com.sun.management.ThreadMXBean          threads = threadBean();
+  private static final com.sun.management.OperatingSystemMXBean os      = osBean();
+
+  public final String name;
+
+  private final Metrics               metrics;
+  private final Stage                 parent;
+  private final boolean               branch;
+  private final long                  thread;
+  private final long                  startWall;
+  private final long                  startCpu;
+  private final long                  startAllocated;
+  private final Map<Long, Long>       startAllocatedByThread;
+  private final Map<String, Long>     counts = new LinkedHashMap<>();
+  private final List<Stage>           files  = new ArrayList<>();
+
+  private long wallNanos      = -1;
+  private long cpuNanos       = -1;
+  private long allocatedBytes = -1;
+  private long peakHeapBytes  = -1;
+
+  Stage(Metrics metrics, String name, Stage parent, boolean branch) {
+    this.metrics = metrics;
+    this.name = name;
+    this.parent = parent;
+    this.branch = branch;
+    this.thread = Thread.currentThread().getId();
+    if (parent == null && !branch) {
+      resetPeakHeap();
+      this.startAllocatedByThread = allocatedByThread();
+      this.startAllocated = -1;
+      this.startCpu = os == null ? -1 : os.getProcessCpuTime();
+    } else {
+      this.startAllocatedByThread = Collections.emptyMap();
+      this.startAllocated = threadAllocated();
+      this.startCpu = threadCpu();
+    }
+    this.startWall = System.nanoTime();
+  }
+
+  /**
+   * a stage of one file within this stage, measuring the current thread
+   */
+  public Stage file(String path) {
+    return new Stage(metrics, path, this, false);
+  }
+
+  public synchronized Stage count(String counter, long value) {
+    counts.put(counter, value);
+    return this;
+  }
+
+  public synchronized Stage add(String counter, long value) {
+    counts.merge(counter, value, Long::sum);
+    return this;
+  }
+
+  @Override
+  public void close() {
+    var wall = System.nanoTime() - startWall;
+    if (parent != null) {
+      synchronized (this) {
+        this.wallNanos = wall;
+        this.cpuNanos = delta(startCpu, threadCpu());
+        this.allocatedBytes = delta(startAllocated, threadAllocated());
+      }
+      parent.addFile(this);
+      return;
+    }
+    if (branch) {
+      var cpu = delta(startCpu, threadCpu());
+      var allocated = delta(startAllocated, threadAllocated());
+      synchronized (this) {
+        // file stages on this thread are measured with it already
+        for (var file : files) {
+          if (file.thread != thread) {
+            cpu = sum(cpu, file.cpuNanos);
+            allocated = sum(allocated, file.allocatedBytes);
+          }
+        }
+        this.wallNanos = wall;
+        this.cpuNanos = cpu;
+        this.allocatedBytes = allocated;
+      }
+      metrics.finished(this);
+      return;
+    }
+
+    var fileThreads = new HashSet<Long>();
+    var fileAllocated = 0L;
+    synchronized (this) {
+      for (var file : files) {
+        fileThreads.add(file.thread);
+        fileAllocated += Math.max(0, file.allocatedBytes);
+      }
+    }
+    var allocated = -1L;
+    if (!startAllocatedByThread.isEmpty()) {
+      allocated = fileAllocated;
+      for (var entry : allocatedByThread().entrySet()) {
+        if (!fileThreads.contains(entry.getKey())) {
+          allocated += entry.getValue() - startAllocatedByThread
+              .getOrDefault(entry.getKey(), 0L);
+        }
+      }
+    }
+
+    synchronized (this) {
+      this.wallNanos = wall;
+      this.cpuNanos = delta(startCpu, os == null ? -1 : os.getProcessCpuTime());
+      this.allocatedBytes = allocated;
+      this.peakHeapBytes = peakHeap();
+    }
+    metrics.finished(this);
+  }
+
+  private synchronized void addFile(Stage file) {
+    files.add(file);
+  }
+
+  public synchronized long getWallNanos() {
+    return wallNanos;
+  }
+
+  /**
+   * CPU time, or -1 if the JVM can't measure it
+   */
+  public synchronized long getCpuNanos() {
+    return cpuNanos;
+  }
+
+  /**
+   * allocated bytes, or -1 if the JVM can't measure them
+   */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * peak heap usage of the stage, or -1 for branches and file stages
+   */
+  public synchronized long getPeakHeapBytes() {
+    return peakHeapBytes;
+  }
+
+  public synchronized Map<String, Long> getCounts() {
+    return new LinkedHashMap<>(counts);
+  }
+
+  public synchronized List<Stage> getFiles() {
+    return new ArrayList<>(files);
+  }
+
+  ///
+  /// JVM measurements
+  ///
+
+  private static long delta(long start, long end) {
+    return start < 0 || end < 0 ? -1 : end - start;
+  }
+
+  private static long sum(long a, long b) {
+    return a < 0 || b < 0 ? -1 : a + b;
+  }
+
+  private static com.sun.management.ThreadMXBean threadBean() {
+    var bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      var sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported()) {
+        sunBean.setThreadAllocatedMemoryEnabled(true);
+        return sunBean;
+      }
+    }
+    return null;
+  }
+
+  private static com.sun.management.OperatingSystemMXBean osBean() {
+    var bean = ManagementFactory.getOperatingSystemMXBean();
+    return bean instanceof com.sun.management.OperatingSystemMXBean ?
+        (com.sun.management.OperatingSystemMXBean) bean :
+        null;
+  }
+
+  private static long threadAllocated() {
+    return threads == null ?
+        -1 :
+        threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static long threadCpu() {
+    var bean = ManagementFactory.getThreadMXBean();
+    return bean.isCurrentThreadCpuTimeSupported() ?
+        bean.getCurrentThreadCpuTime() :
+        -1;
+  }
+
+  private static Map<Long, Long> allocatedByThread() {
+    if (threads == null) {
+      return Collections.emptyMap();
+    }
+    var ids = threads.getAllThreadIds();
+    var bytes = threads.getThreadAllocatedBytes(ids);
+    var byThread = new HashMap<Long, Long>();
+    for (int i = 0; i < ids.length; i++) {
+      if (bytes[i] >= 0) {
+        byThread.put(ids[i], bytes[i]);
+      }
+    }
+    return byThread;
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    var pools = new ArrayList<MemoryPoolMXBean>();
+    for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+        pools.add(pool);
+      }
+    }
+    return pools;
+  }
+
+  private static void resetPeakHeap() {
+    heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+  private static long peakHeap() {
+    var peak = 0L;
+    for (var pool : heapPools()) {
+      peak += pool.getPeakUsage().getUsed();
+    }
+    return peak;
+  }
+}
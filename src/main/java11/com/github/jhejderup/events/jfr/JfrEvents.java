@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jhejderup.events.jfr;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.events.Events;
+import jdk.jfr.*;
+
+/**
+ * JFR implementations of {@link Events}, in the `Uppdatera` category of a
+ * recording. Loaded reflectively, as this class needs JDK 11.
+ * <p>
+ * {@link Event#isEnabled()} implements the interfaces' check, and fields are
+ * only filled in once the event passes the recording's threshold.
+ */
+public final class JfrEvents implements Events.Factory {
+
+  @Override
+  public Events.ArtifactResolution artifactResolution() {
+    var event = new ArtifactResolution();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public Events.SourceFileDiff sourceFileDiff() {
+    var event = new SourceFileDiff();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public Events.CallGraphConstruction callGraphConstruction() {
+    var event = new CallGraphConstruction();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public Events.ReachabilityQuery reachabilityQuery() {
+    var event = new ReachabilityQuery();
+    event.begin();
+    return event;
+  }
+
+  @Name("uppdatera.ArtifactResolution")
+  @Label("Artifact Resolution")
+  @Category("Uppdatera")
+  static final class ArtifactResolution extends Event
+      implements Events.ArtifactResolution {
+    @Label("Coordinate")
+    String coordinate;
+    @Label("Source")
+    String source;
+    @Label("File")
+    String file;
+
+    @Override
+    public void commit(String coordinate, String source, String file) {
+      end();
+      if (shouldCommit()) {
+        this.coordinate = coordinate;
+        this.source = source;
+        this.file = file;
+        commit();
+      }
+    }
+  }
+
+  @Name("uppdatera.SourceFileDiff")
+  @Label("Source File Diff")
+  @Category("Uppdatera")
+  static final class SourceFileDiff extends Event
+      implements Events.SourceFileDiff {
+    @Label("Path")
+    String path;
+    @Label("Old AST Nodes")
+    int    srcNodes;
+    @Label("New AST Nodes")
+    int    dstNodes;
+    @Label("Operations")
+    int    operations;
+    @Label("Changed Methods")
+    int    changedMethods;
+
+    @Override
+    public void commit(String path, int srcNodes, int dstNodes, int operations,
+        int changedMethods) {
+      end();
+      if (shouldCommit()) {
+        this.path = path;
+        this.srcNodes = srcNodes;
+        this.dstNodes = dstNodes;
+        this.operations = operations;
+        this.changedMethods = changedMethods;
+        commit();
+      }
+    }
+  }
+
+  @Name("uppdatera.CallGraphConstruction")
+  @Label("Call Graph Construction")
+  @Category("Uppdatera")
+  static final class CallGraphConstruction extends Event
+      implements Events.CallGraphConstruction {
+    @Label("Project Classpath")
+    String projectClassPath;
+    @Label("Dependency Classpath")
+    String dependencyClassPath;
+    @Label("Entry Points")
+    int    entryPoints;
+    @Label("Nodes")
+    int    nodes;
+    @Label("Edges")
+    int    edges;
+
+    @Override
+    public void commit(String projectClassPath, String dependencyClassPath,
+        int entryPoints, int nodes, int edges) {
+      end();
+      if (shouldCommit()) {
+        this.projectClassPath = projectClassPath;
+        this.dependencyClassPath = dependencyClassPath;
+        this.entryPoints = entryPoints;
+        this.nodes = nodes;
+        this.edges = edges;
+        commit();
+      }
+    }
+  }
+
+  @Name("uppdatera.ReachabilityQuery")
+  @Label("Reachability Query")
+  @Category("Uppdatera")
+  @StackTrace(false) // one per changed method
+  static final class ReachabilityQuery extends Event
+      implements Events.ReachabilityQuery {
+    @Label("Method")
+    String method;
+    @Label("Path Length")
+    int    pathLength;
+    @Label("Visited Nodes")
+    int    visited;
+
+    @Override
+    public void commit(JVMIdentifier method, int pathLength, int visited) {
+      end();
+      if (shouldCommit()) {
+        this.method = method.toString();
+        this.pathLength = pathLength;
+        this.visited = visited;
+        commit();
+      }
+    }
+  }
+}
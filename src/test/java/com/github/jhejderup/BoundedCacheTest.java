@@ -0,0 +1,25 @@
+package com.github.jhejderup;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Evicts the least recently used entries beyond the bound.
+ */
+public class BoundedCacheTest extends TestCase {
+
+  public void testEvictsLeastRecentlyUsed() {
+    var evicted = new ArrayList<String>();
+    var cache = new BoundedCache<Integer, String>(2, evicted::add);
+    cache.computeIfAbsent(1, k -> "one");
+    cache.computeIfAbsent(2, k -> "two");
+    assertEquals("one", cache.computeIfAbsent(1, k -> "ONE"));
+    cache.computeIfAbsent(3, k -> "three");
+
+    assertEquals(Arrays.asList("two"), evicted);
+    assertEquals(2, cache.size());
+    assertEquals("two!", cache.computeIfAbsent(2, k -> "two!"));
+  }
+}
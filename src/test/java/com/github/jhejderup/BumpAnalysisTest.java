@@ -0,0 +1,118 @@
+package com.github.jhejderup;
+
+import com.github.jhejderup.BumpAnalysis.Status;
+import com.github.jhejderup.analysis.CallerSearch;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.artifact.maven.Coordinate;
+import com.github.jhejderup.artifact.maven.Resolver;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the call graph and diff branches of a bump resolved from a stub
+ * repository, with stand-in call graphs.
+ */
+public class BumpAnalysisTest extends TestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    System.setProperty("uppdatera.cache.dir",
+        Files.createTempDirectory("cache").toString());
+  }
+
+  @Override
+  protected void tearDown() {
+    System.clearProperty("uppdatera.cache.dir");
+  }
+
+  private static BumpAnalysis analysis(String oldSource, String newSource)
+      throws Exception {
+    var repository = Files.createTempDirectory("repository");
+    var folder = repository.resolve("org/dep/dep");
+    Fixtures.jar(folder.resolve("1.0/dep-1.0-sources.jar"),
+        Collections.singletonMap("p/Dep.java", oldSource));
+    Fixtures.jar(folder.resolve("2.0/dep-2.0-sources.jar"),
+        Collections.singletonMap("p/Dep.java", newSource));
+    Fixtures.jar(folder.resolve("1.0/dep-1.0.jar"),
+        Collections.singletonMap("p/Dep.class", "1.0"));
+    Fixtures.jar(folder.resolve("2.0/dep-2.0.jar"),
+        Collections.singletonMap("p/Dep.class", "2.0"));
+
+    var analysis = new BumpAnalysis(new Coordinate("org.dep", "dep", "1.0"),
+        new Coordinate("org.dep", "dep", "2.0"),
+        new Resolver(null, repository, 2));
+    assertFalse(analysis.resolve().isPresent());
+    return analysis;
+  }
+
+  public void testUnchangedSourcesInterruptCallGraph() throws Exception {
+    var source = "package p; public class Dep { int f() { return 1; } }";
+    var analysis = analysis(source, source);
+
+    var interrupted = new CountDownLatch(1);
+    var outcome = analysis.analyze(() -> {
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return Optional.<CallerSearch>empty();
+    }, Files.createTempFile("report", ".md"));
+
+    assertEquals(Status.NOT_AFFECTED, outcome.status);
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+  }
+
+  public void testFailedCallGraphFailsBump() throws Exception {
+    var analysis = analysis(
+        "package p; public class Dep { int f() { return 1; } }",
+        "package p; public class Dep { int f() { return 2; } }");
+
+    var outcome = analysis.analyze(Optional::<CallerSearch>empty,
+        Files.createTempFile("report", ".md"));
+    assertEquals(Status.FAILED, outcome.status);
+  }
+
+  public void testChangesAreCachedAcrossProjects() throws Exception {
+    var oldSource = "package p; public class Dep { int f() { return 1; } }";
+    var newSource = "package p; public class Dep { int f() { return 2; } }";
+    CallerSearch noCallers = new CallerSearch() {
+      @Override
+      public Map<JVMIdentifier, List<JVMIdentifier>> searchAll(
+          Collection<JVMIdentifier> methodIDs) {
+        return methodIDs.stream().collect(
+            Collectors.toMap(id -> id, id -> Collections.emptyList()));
+      }
+
+      @Override
+      public int vertices() {
+        return 0;
+      }
+
+      @Override
+      public int edges() {
+        return 0;
+      }
+    };
+    var first = analysis(oldSource, newSource)
+        .analyze(noCallers, Files.createTempFile("report", ".md"));
+    assertEquals(1, first.changedFunctions);
+
+    // same sources jars, resolved from another repository
+    var analysis = analysis(oldSource, newSource);
+    var second = analysis
+        .analyze(noCallers, Files.createTempFile("report", ".md"));
+    assertEquals(1, second.changedFunctions);
+    assertTrue(analysis.metrics.toJson().contains("\"cached\""));
+  }
+}
@@ -0,0 +1,28 @@
+package com.github.jhejderup;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Parses bump files.
+ */
+public class BumpTest extends TestCase {
+
+  public void testParseAll() {
+    var bumps = Bump.parseAll(Arrays
+        .asList("# bumps", "org.a:a:1.0:2.0", "", " org.b:b:1.0:1.1 ",
+            "org.a:a:2.0:3.0"));
+    assertEquals(3, bumps.size());
+    assertEquals("org.b:b:1.0:1.1", bumps.get(1).toString());
+    assertEquals("org.a-a-2.0-3.0", bumps.get(2).fileName());
+  }
+
+  public void testRejectsMalformedLine() {
+    try {
+      Bump.parse("org.a:a:1.0");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+}
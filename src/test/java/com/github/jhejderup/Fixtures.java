@@ -0,0 +1,98 @@
+package com.github.jhejderup;
+
+import javax.tools.ToolProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds the class folders and jars that tests analyse.
+ */
+public final class Fixtures {
+
+  private Fixtures() {
+  }
+
+  /**
+   * compiles pairs of class name (e.g. `p/Dep`) and source to Java 8 class
+   * files in a new folder
+   */
+  public static Path compile(String classPath, String... sources)
+      throws Exception {
+    var dir = Files.createTempDirectory("fixture");
+    var classes = Files.createDirectories(dir.resolve("classes"));
+    var args = new ArrayList<String>();
+    args.add("-nowarn");
+    args.add("-source");
+    args.add("8");
+    args.add("-target");
+    args.add("8");
+    args.add("-d");
+    args.add(classes.toString());
+    if (!classPath.isEmpty()) {
+      args.add("-cp");
+      args.add(classPath);
+    }
+    for (int i = 0; i < sources.length; i += 2) {
+      var file = dir.resolve("src").resolve(sources[i] + ".java");
+      Files.createDirectories(file.getParent());
+      Files.write(file, sources[i + 1].getBytes());
+      args.add(file.toString());
+    }
+    if (ToolProvider.getSystemJavaCompiler()
+        .run(null, null, null, args.toArray(new String[0])) != 0) {
+      throw new IllegalStateException("Failed to compile " + args);
+    }
+    return classes;
+  }
+
+  /**
+   * writes a jar of entry names (a folder ends with `/`) and contents, e.g. a
+   * sources jar
+   */
+  public static Path jar(Path file, Map<String, String> entries)
+      throws Exception {
+    var bytes = new LinkedHashMap<String, byte[]>();
+    entries.forEach((name, content) -> bytes.put(name, content.getBytes()));
+    return write(file, bytes);
+  }
+
+  /**
+   * writes a jar of the files in a folder, e.g. of {@link #compile(String,
+   * String...)}
+   */
+  public static Path jar(Path file, Path folder) throws Exception {
+    var bytes = new LinkedHashMap<String, byte[]>();
+    try (var files = Files.walk(folder)) {
+      for (var path : files.filter(Files::isRegularFile).sorted()
+          .collect(Collectors.toList())) {
+        bytes.put(folder.relativize(path).toString().replace('\\', '/'),
+            Files.readAllBytes(path));
+      }
+    }
+    return write(file, bytes);
+  }
+
+  // entries have a fixed time, so the same entries give the same jar
+  private static Path write(Path file, Map<String, byte[]> entries)
+      throws Exception {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    try (var out = new ZipOutputStream(Files.newOutputStream(file))) {
+      for (var entry : entries.entrySet()) {
+        var zipEntry = new ZipEntry(entry.getKey());
+        zipEntry.setTime(0);
+        out.putNextEntry(zipEntry);
+        out.write(entry.getValue());
+        out.closeEntry();
+      }
+    }
+    return file;
+  }
+}
@@ -0,0 +1,139 @@
+package com.github.jhejderup;
+
+import com.github.jhejderup.artifact.maven.Resolver;
+import junit.framework.TestCase;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Talks to a daemon resolving from a stub repository, so nothing is
+ * downloaded.
+ */
+public class UppdateraDaemonTest extends TestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    System.setProperty("uppdatera.cache.dir",
+        Files.createTempDirectory("cache").toString());
+  }
+
+  @Override
+  protected void tearDown() {
+    System.clearProperty("uppdatera.cache.dir");
+  }
+
+  private static UppdateraDaemon daemon(Path repository) throws Exception {
+    return new UppdateraDaemon(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        new Resolver(null, repository, 2), 1, 1);
+  }
+
+  private static HttpURLConnection post(UppdateraDaemon daemon, String query)
+      throws Exception {
+    var analyze = (HttpURLConnection) new URL(
+        "http://localhost:" + daemon.getPort() + "/analyze?" + query)
+        .openConnection();
+    analyze.setRequestMethod("POST");
+    return analyze;
+  }
+
+  private static String body(HttpURLConnection connection) throws Exception {
+    try (var in = new BufferedReader(new InputStreamReader(
+        connection.getInputStream(), StandardCharsets.UTF_8))) {
+      return in.lines().collect(Collectors.joining("\n"));
+    }
+  }
+
+  /**
+   * puts the binary and sources jars of a version of `org.dep:dep` with a
+   * `d.Util.f()` returning `value` in a stub repository
+   */
+  private static Path release(Path repository, String version, int value)
+      throws Exception {
+    var source = "package d; public class Util { public static int f() { return "
+        + value + "; } }";
+    var classes = Fixtures.compile("", "d/Util", source);
+    var folder = repository.resolve("org/dep/dep/" + version);
+    Fixtures.jar(folder.resolve("dep-" + version + ".jar"), classes);
+    Fixtures.jar(folder.resolve("dep-" + version + "-sources.jar"),
+        Collections.singletonMap("d/Util.java", source));
+    return classes;
+  }
+
+  public void testReportsMissingArtifacts() throws Exception {
+    var daemon = daemon(Files.createTempDirectory("repository"));
+    daemon.start();
+    try {
+      var base = "http://localhost:" + daemon.getPort();
+
+      var health = (HttpURLConnection) new URL(base + "/health")
+          .openConnection();
+      assertEquals(200, health.getResponseCode());
+
+      var get = (HttpURLConnection) new URL(base
+          + "/analyze?project=target/classes&groupId=org.dep&artifactId=dep&old=1.0&new=2.0")
+          .openConnection();
+      assertEquals(405, get.getResponseCode());
+      assertEquals("POST", get.getHeaderField("Allow"));
+
+      var missing = post(daemon, "project=target/classes&groupId=org.dep");
+      assertEquals(400, missing.getResponseCode());
+
+      var analyze = post(daemon,
+          "project=target/classes&groupId=org.dep&artifactId=dep&old=1.0&new=2.0");
+      assertEquals(200, analyze.getResponseCode());
+      assertEquals("MISSING_ARTIFACT",
+          analyze.getHeaderField("X-Uppdatera-Status"));
+      assertEquals("50", analyze.getHeaderField("X-Uppdatera-Exit-Code"));
+    } finally {
+      daemon.stop();
+    }
+  }
+
+  public void testStreamsReportAndReusesCallGraph() throws Exception {
+    var repository = Files.createTempDirectory("repository");
+    var dep = release(repository, "1.0", 1);
+    release(repository, "2.0", 2);
+    var project = Fixtures.compile(dep.toString(), "a/Main",
+        "package a; public class Main { public static void main(String[] args) { d.Util.f(); } }");
+
+    var daemon = daemon(repository);
+    daemon.start();
+    try {
+      var query = "project=" + URLEncoder.encode(project.toString(), "UTF-8")
+          + "&groupId=org.dep&artifactId=dep&old=1.0&new=2.0";
+      var first = post(daemon, query);
+      // WALA reads the JDK classes from the JDK 8 runtime the tool runs on
+      if ("FAILED".equals(first.getHeaderField("X-Uppdatera-Status"))) {
+        return;
+      }
+      assertEquals(200, first.getResponseCode());
+      assertEquals("AFFECTED", first.getHeaderField("X-Uppdatera-Status"));
+      assertEquals("0", first.getHeaderField("X-Uppdatera-Exit-Code"));
+      assertEquals("built", first.getHeaderField("X-Uppdatera-Callgraph"));
+      assertEquals("chunked", first.getHeaderField("Transfer-Encoding"));
+      var report = body(first);
+      assertTrue(report.startsWith("Bumps org.dep:dep from 1.0 to 2.0."));
+
+      // same project and dependency classpaths
+      var second = post(daemon, query);
+      assertEquals(200, second.getResponseCode());
+      assertEquals("AFFECTED", second.getHeaderField("X-Uppdatera-Status"));
+      assertEquals("reused", second.getHeaderField("X-Uppdatera-Callgraph"));
+      assertEquals(report, body(second));
+    } finally {
+      daemon.stop();
+    }
+  }
+}
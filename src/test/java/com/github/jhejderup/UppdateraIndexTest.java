@@ -0,0 +1,95 @@
+package com.github.jhejderup;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.ast.ChangeIndex;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Indexes three versions of a dependency and composes the changes of the
+ * whole range from the two deltas.
+ */
+public class UppdateraIndexTest extends TestCase {
+
+  private static Path sources(Path repository, String version, String source)
+      throws Exception {
+    var folder = repository.resolve("org/dep/dep/" + version);
+    return Fixtures.jar(folder.resolve("dep-" + version + "-sources.jar"),
+        Collections.singletonMap("p/Dep.java", source));
+  }
+
+  public void testComposesConsecutiveDeltas() throws Exception {
+    var repository = Files.createTempDirectory("repository");
+    var v1 = sources(repository, "1.0", "package p; public class Dep {"
+        + " int f() { return 1; } int g() { return 1; } int h() { return 1; } }");
+    sources(repository, "1.1", "package p; public class Dep {"
+        + " int f() { return 2; } int g() { return 1; } int h() { return 1; } }");
+    var v2 = sources(repository, "2.0", "package p; public class Dep {"
+        + " int f() { return 2; } int g() { return 3; } }");
+
+    var index = repository.resolve("dep.idx");
+    UppdateraIndex.main(
+        new String[] { "org.dep:dep", repository.toString(), index.toString() });
+
+    var changes = ChangeIndex.open(index).get()
+        .changes("1.0", v1, "2.0", v2).get();
+    assertEquals(1, changes.size());
+    var methods = changes.get(0);
+    assertEquals(3, methods.size());
+
+    var h = JVMIdentifier.of("Lp/Dep", "h", "()I");
+    var stats = methods.get(h).get(0).getKey();
+    assertEquals(Optional.of(h), stats.srcMethod);
+    assertFalse(stats.dstMethod.isPresent());
+    assertTrue(methods.containsKey(JVMIdentifier.of("Lp/Dep", "f", "()I")));
+    assertTrue(methods.containsKey(JVMIdentifier.of("Lp/Dep", "g", "()I")));
+
+    // sources that differ from the indexed ones are diffed again
+    assertFalse(ChangeIndex.open(index).get().changes("1.0", v2, "2.0", v2)
+        .isPresent());
+  }
+
+  public void testSingleDeltaIsReturnedAsDiffed() throws Exception {
+    var repository = Files.createTempDirectory("repository");
+    // two top-level classes in one file, which composing would split
+    var v1 = sources(repository, "1.0", "package p; public class Dep {"
+        + " int f() { return 1; } } class Other { int g() { return 1; } }");
+    var v2 = sources(repository, "1.1", "package p; public class Dep {"
+        + " int f() { return 2; } } class Other { int g() { return 2; } }");
+
+    var index = repository.resolve("dep.idx");
+    UppdateraIndex.main(
+        new String[] { "org.dep:dep", repository.toString(), index.toString() });
+
+    var releases = UppdateraIndex.releases(repository, "org.dep", "dep");
+    var diffed = UppdateraIndex.diffAll(releases, 1).get(0);
+    assertEquals(1, diffed.size());
+    assertEquals(diffed, ChangeIndex.open(index).get()
+        .changes("1.0", v1, "1.1", v2).get());
+  }
+
+  public void testSharedModelsAreDiffedOnePairAtATime() throws Exception {
+    var repository = Files.createTempDirectory("repository");
+    var versions = 6;
+    var methods = 40;
+    for (int v = 0; v < versions; v++) {
+      var source = new StringBuilder("package p; public class Dep {");
+      for (int m = 0; m < methods; m++) {
+        source.append(" int m" + m + "(int x) { return x + " + v + "; }");
+      }
+      sources(repository, "1." + v, source.append(" }").toString());
+    }
+
+    var releases = UppdateraIndex.releases(repository, "org.dep", "dep");
+    var deltas = UppdateraIndex.diffAll(releases, 4);
+    assertEquals(versions - 1, deltas.size());
+    for (var delta : deltas) {
+      assertEquals(1, delta.size());
+      assertEquals(methods, delta.get(0).size());
+    }
+  }
+}
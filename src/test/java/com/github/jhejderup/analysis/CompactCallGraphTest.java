@@ -0,0 +1,100 @@
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.ResolvedCall;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the compressed sparse rows of a small hand-made call graph.
+ */
+public class CompactCallGraphTest extends TestCase {
+
+  private static final MethodReference A      = app("com/example/A");
+  private static final MethodReference B      = app("com/example/B");
+  private static final MethodReference C      = app("com/example/C");
+  private static final MethodReference D1     = dep("D1");
+  private static final MethodReference D2     = dep("D2");
+  // the same method as D2, referenced through another class loader
+  private static final MethodReference D2_APP = app("org/dep/D2");
+  private static final MethodReference P1     = MethodReference
+      .findOrCreate(ClassLoaderReference.Primordial, "Ljava/lang/Object",
+          "toString", "()Ljava/lang/String;");
+
+  private CompactCallGraph graph;
+
+  private static MethodReference app(String name) {
+    return MethodReference
+        .findOrCreate(ClassLoaderReference.Application, "L" + name, "run",
+            "()V");
+  }
+
+  private static MethodReference dep(String name) {
+    return MethodReference
+        .findOrCreate(ClassLoaderReference.Extension, "Lorg/dep/" + name, "run",
+            "()V");
+  }
+
+  private static JVMIdentifier id(MethodReference ref) {
+    return Reachability.WALAToJVMIdentifier(ref);
+  }
+
+  private List<JVMIdentifier> slice(int[] offsets, int[] columns,
+      MethodReference vertex) {
+    var row = graph.id(id(vertex));
+    return IntStream.range(offsets[row], offsets[row + 1])
+        .mapToObj(i -> graph.names[columns[i]]).collect(Collectors.toList());
+  }
+
+  private static List<JVMIdentifier> ids(MethodReference... refs) {
+    return Arrays.stream(refs).map(CompactCallGraphTest::id)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  protected void setUp() {
+    graph = CompactCallGraph.build(Arrays
+        .asList(new ResolvedCall(A, D1), new ResolvedCall(A, D1),
+            new ResolvedCall(B, D1), new ResolvedCall(A, D2),
+            new ResolvedCall(B, D1), new ResolvedCall(D1, D2),
+            new ResolvedCall(C, D2_APP), new ResolvedCall(A, P1)));
+  }
+
+  public void testNumbering() {
+    // targets before sources, in call order; calls of JDK methods are dropped
+    assertEquals(ids(D1, A, B, D2, C), Arrays.asList(graph.names));
+    assertEquals(-1, graph.id(id(P1)));
+    assertEquals(3, graph.id(id(D2_APP)));
+  }
+
+  public void testLoaderOfFirstReference() {
+    assertEquals("Extension", graph.loaderName(graph.id(id(D2))));
+    assertEquals("Application", graph.loaderName(graph.id(id(C))));
+  }
+
+  public void testRowsWithoutDuplicateEdges() {
+    assertEquals(5, graph.size());
+    assertEquals(4, graph.edges());
+    assertTrue(Arrays.equals(new int[] { 0, 2, 2, 2, 4, 4 },
+        graph.callerOffsets));
+    assertTrue(Arrays.equals(new int[] { 0, 1, 3, 4, 4, 4 },
+        graph.calleeOffsets));
+
+    assertEquals(ids(A, B), slice(graph.callerOffsets, graph.callers, D1));
+    assertEquals(ids(A, D1), slice(graph.callerOffsets, graph.callers, D2));
+    assertEquals(ids(D1, D2), slice(graph.calleeOffsets, graph.callees, A));
+    assertEquals(ids(D1), slice(graph.calleeOffsets, graph.callees, B));
+  }
+
+  public void testCallsOfOtherReferenceAreDropped() {
+    // C only calls D2 through the reference D2 is not known by
+    assertEquals(ids(), slice(graph.calleeOffsets, graph.callees, C));
+    assertEquals(ids(A, D1), slice(graph.callerOffsets, graph.callers, D2));
+  }
+}
@@ -0,0 +1,31 @@
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.Fixtures;
+import junit.framework.TestCase;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Scans the constant pools of a few classes compiled into a folder.
+ */
+public class ConstantPoolScannerTest extends TestCase {
+
+  public void testScan() throws Exception {
+    var classes = Fixtures.compile("", "p/Dep",
+        "package p; public class Dep { public static int f(long x) { return 1; } }",
+        "p/Arrays", "package p; class Arrays { Object a() { return new Dep[0][]; } }",
+        "p/Main", "package p; class Main { double d = 1.5;"
+            + " String s = \"\\u00e9t\\u00e9\"; int g() { return Dep.f(2L); } }");
+
+    var refs = ConstantPoolScanner.scan(classes.toString()).get();
+    assertEquals(3, refs.files());
+    assertTrue(refs.classes.contains("p/Dep"));
+    assertTrue(refs.classes.contains("java/lang/Object"));
+
+    Set<String> dependency = new TreeSet<>();
+    dependency.add("p/Dep");
+    dependency.add("q/Other");
+    assertEquals(1, refs.classesIn(dependency).size());
+  }
+}
@@ -0,0 +1,113 @@
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.Fixtures;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.ResolvedCall;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Searches callers backwards through the class hierarchy of a compiled
+ * project and dependency.
+ */
+public class DemandDrivenSearchTest extends TestCase {
+
+  private static final MethodReference CHANGED = dep("Util", "changed", "()V");
+  private static final MethodReference K_M     = dep("K", "m", "()V");
+  private static final MethodReference P_H     = dep("P", "h", "()V");
+  private static final MethodReference Q_H     = dep("Q", "h", "()V");
+  private static final MethodReference A_A     = app("A", "a", "(Ld/I;)V");
+  private static final MethodReference B_B     = app("B", "b", "(Ld/Q;)V");
+  private static final MethodReference MAIN    = app("Main", "main",
+      "(La/A;)V");
+
+  private DemandDrivenSearch search;
+
+  private static MethodReference dep(String clazz, String name, String desc) {
+    return MethodReference
+        .findOrCreate(ClassLoaderReference.Extension, "Ld/" + clazz, name,
+            desc);
+  }
+
+  private static MethodReference app(String clazz, String name, String desc) {
+    return MethodReference
+        .findOrCreate(ClassLoaderReference.Application, "La/" + clazz, name,
+            desc);
+  }
+
+  private static JVMIdentifier id(MethodReference ref) {
+    return Reachability.WALAToJVMIdentifier(ref);
+  }
+
+  private static List<JVMIdentifier> ids(MethodReference... refs) {
+    return Arrays.stream(refs).map(DemandDrivenSearchTest::id)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    var dep = Fixtures.compile("",
+        "d/I", "package d; public interface I { void m(); }",
+        "d/K", "package d; public class K { public void m() { Util.changed(); } }",
+        "d/S", "package d; public class S extends K implements I {}",
+        "d/Util", "package d; public class Util { public static void changed() {} }",
+        "d/P", "package d; public class P { public void h() {} }",
+        "d/Q", "package d; public class Q extends P { public void h() { super.h(); } }",
+        "d/Unused", "package d; public class Unused { public void u() {} }");
+    var app = Fixtures.compile(dep.toString(),
+        "a/A", "package a; public class A { void a(d.I i) { i.m(); } }",
+        "a/B", "package a; public class B { void b(d.Q q) { q.h(); } }",
+        "a/Main", "package a; public class Main { void main(A a) { a.a(null); } }");
+    // WALA reads the JDK classes from the JDK 8 runtime the tool runs on
+    search = DemandDrivenSearch.build(app.toString(), dep.toString())
+        .orElse(null);
+  }
+
+  public void testInterfaceCallOfInheritedMethod() {
+    if (search == null) {
+      return;
+    }
+    // S inherits K.m and implements I, so i.m() may run K.m
+    assertEquals(ids(K_M, A_A, A_A), search.search(id(K_M)));
+  }
+
+  public void testSuperCall() {
+    if (search == null) {
+      return;
+    }
+    // q.h() runs Q.h, which calls P.h through super
+    assertEquals(ids(P_H, Q_H, B_B, B_B), search.search(id(P_H)));
+  }
+
+  public void testStopsAtFirstProjectCaller() {
+    if (search == null) {
+      return;
+    }
+    var path = search.search(id(CHANGED));
+    assertEquals(ids(CHANGED, K_M, A_A, A_A), path);
+    assertFalse(path.contains(id(MAIN)));
+  }
+
+  public void testPathsMatchReachability() {
+    if (search == null) {
+      return;
+    }
+    var graph = new Reachability(Arrays
+        .asList(new ResolvedCall(A_A, K_M), new ResolvedCall(K_M, CHANGED),
+            new ResolvedCall(MAIN, A_A), new ResolvedCall(B_B, Q_H),
+            new ResolvedCall(Q_H, P_H)));
+    var queries = ids(CHANGED, K_M, P_H, Q_H, dep("Unused", "u", "()V"),
+        A_A);
+    var paths = search.searchAll(queries);
+    for (var query : queries) {
+      assertEquals(query.toString(), graph.search(query), paths.get(query));
+    }
+    assertEquals(Collections.emptyList(), paths.get(id(A_A)));
+  }
+}
@@ -0,0 +1,95 @@
+package com.github.jhejderup.analysis;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.callgraph.ResolvedCall;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Shortest caller paths on a small hand-made call graph.
+ */
+public class ReachabilityTest extends TestCase {
+
+  private static final MethodReference A  = app("A");
+  private static final MethodReference B  = app("B");
+  private static final MethodReference D1 = dep("D1");
+  private static final MethodReference D2 = dep("D2");
+  private static final MethodReference D3 = dep("D3");
+  private static final MethodReference D5 = dep("D5");
+  private static final MethodReference P1 = MethodReference
+      .findOrCreate(ClassLoaderReference.Primordial, "Ljava/lang/Object",
+          "toString", "()Ljava/lang/String;");
+
+  private static MethodReference app(String name) {
+    return MethodReference
+        .findOrCreate(ClassLoaderReference.Application, "Lcom/example/" + name,
+            "run", "()V");
+  }
+
+  private static MethodReference dep(String name) {
+    return MethodReference
+        .findOrCreate(ClassLoaderReference.Extension, "Lorg/dep/" + name, "run",
+            "()V");
+  }
+
+  private static JVMIdentifier id(MethodReference ref) {
+    return Reachability.WALAToJVMIdentifier(ref);
+  }
+
+  private static List<JVMIdentifier> ids(MethodReference... refs) {
+    return Arrays.stream(refs).map(ReachabilityTest::id)
+        .collect(Collectors.toList());
+  }
+
+  private static Reachability graph() {
+    return new Reachability(Arrays
+        .asList(new ResolvedCall(A, D1), new ResolvedCall(D1, D2),
+            new ResolvedCall(D2, D3), new ResolvedCall(B, D3),
+            new ResolvedCall(D5, D1), new ResolvedCall(D1, P1)));
+  }
+
+  public void testSearch() {
+    var graph = graph();
+    assertEquals(ids(D3, B, B), graph.search(id(D3)));
+    assertEquals(ids(D2, D1, A, A), graph.search(id(D2)));
+    assertEquals(ids(D1, A, A), graph.search(id(D1)));
+  }
+
+  public void testSearchWithoutCallers() {
+    var graph = graph();
+    assertEquals(Collections.emptyList(), graph.search(id(D5)));
+    assertEquals(Collections.emptyList(), graph.search(id(dep("Unknown"))));
+    assertEquals(Collections.emptyList(), graph.search(id(A)));
+  }
+
+  public void testSearchWithinBudget() {
+    var graph = graph();
+    assertEquals(ids(D2, D1, A, A), graph.search(id(D2), 2, 3));
+    assertEquals(Collections.emptyList(), graph.search(id(D2), 1, 3));
+    assertEquals(Collections.emptyList(), graph.search(id(D2), 2, 1));
+  }
+
+  public void testSearchAllMatchesSearch() {
+    var graph = graph();
+    var queries = ids(D1, D2, D3, D5, A, dep("Unknown"));
+    var paths = graph.searchAll(queries);
+
+    assertEquals(queries, paths.keySet().stream().collect(Collectors.toList()));
+    for (var query : queries) {
+      assertEquals(graph.search(query), paths.get(query));
+    }
+  }
+
+  public void testReachableClasses() {
+    var classes = graph().reachableClasses().get();
+    assertEquals(new HashSet<>(Arrays.asList("org/dep/D1", "org/dep/D2",
+        "org/dep/D3")), classes);
+  }
+}
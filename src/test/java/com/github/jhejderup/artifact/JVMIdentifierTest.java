@@ -0,0 +1,24 @@
+package com.github.jhejderup.artifact;
+
+import junit.framework.TestCase;
+
+/**
+ * Interns identifiers and tells apart the ones whose hashes collide.
+ */
+public class JVMIdentifierTest extends TestCase {
+
+  public void testCanonicalWhileInUse() {
+    var id = JVMIdentifier.of("Lp/A", "<init>", "()V");
+    assertSame(id, JVMIdentifier.of("Lp/A", "<init>", "()V"));
+  }
+
+  public void testCollidingHashesStayDistinct() {
+    // "Aa" and "BB" have the same String hash
+    var aa = JVMIdentifier.of("Lp/Aa", "f", "()V");
+    var bb = JVMIdentifier.of("Lp/BB", "f", "()V");
+    assertEquals(aa.hashCode(), bb.hashCode());
+    assertNotSame(aa, bb);
+    assertFalse(aa.equals(bb));
+    assertSame(bb, JVMIdentifier.of("Lp/BB", "f", "()V"));
+  }
+}
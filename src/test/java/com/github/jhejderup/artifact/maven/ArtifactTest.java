@@ -0,0 +1,50 @@
+package com.github.jhejderup.artifact.maven;
+
+import com.github.jhejderup.Fixtures;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Keeps the zip file system of a sources jar open while it is in use.
+ */
+public class ArtifactTest extends TestCase {
+
+  private static Path jar(Path folder, String name) throws Exception {
+    return Fixtures.jar(folder.resolve(name + "-sources.jar"),
+        Collections.singletonMap("p/A.java", name));
+  }
+
+  public void testEvictedSourcesStayOpenUntilClosed() throws Exception {
+    var folder = Files.createTempDirectory("jars");
+    var root = Artifact.openSources(jar(folder, "used")).get();
+
+    // more jars than are kept open evict the used one
+    for (int i = 0; i < 100; i++) {
+      var other = Artifact.openSources(jar(folder, "other" + i)).get();
+      Artifact.closeSources(other);
+    }
+    assertEquals("used",
+        new String(Files.readAllBytes(root.resolve("p/A.java"))));
+
+    Artifact.closeSources(root);
+    assertFalse(root.getFileSystem().isOpen());
+  }
+
+  public void testReopenedSourcesShareOneFileSystem() throws Exception {
+    var jar = jar(Files.createTempDirectory("jars"), "shared");
+    var first = Artifact.openSources(jar).get();
+    var second = Artifact.openSources(jar).get();
+    assertSame(first.getFileSystem(), second.getFileSystem());
+
+    Artifact.closeSources(first);
+    Artifact.closeSources(second);
+    // not evicted, so kept open for the next analysis
+    assertTrue(second.getFileSystem().isOpen());
+    var third = Artifact.openSources(jar).get();
+    assertSame(first.getFileSystem(), third.getFileSystem());
+    Artifact.closeSources(third);
+  }
+}
@@ -0,0 +1,40 @@
+package com.github.jhejderup.artifact.maven;
+
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+
+/**
+ * Resolves coordinates from a pre-filled artifact cache or a stub repository,
+ * without Maven.
+ */
+public class ResolverTest extends TestCase {
+
+  public void testResolvesFromCache() throws Exception {
+    var cache = Files.createTempDirectory("artifacts");
+    var jar = Files.createDirectories(cache.resolve("abc123"))
+        .resolve("dep-1.0.jar");
+    Files.write(jar, new byte[] { 1, 2, 3 });
+    var index = Files.createDirectories(cache.resolve("index/org.dep/dep"))
+        .resolve("1.0.sha256");
+    Files.write(index, "abc123\n".getBytes());
+
+    var resolver = new Resolver(cache, 2);
+    var first = resolver.resolve("org.dep:dep:1.0");
+    assertEquals(jar, first.join().get());
+    assertSame(first, resolver.resolve("org.dep:dep:1.0"));
+  }
+
+  public void testResolvesFromRepository() throws Exception {
+    var repository = Files.createTempDirectory("repository");
+    var sources = Files
+        .createDirectories(repository.resolve("org/dep/dep/1.0"))
+        .resolve("dep-1.0-sources.jar");
+    Files.write(sources, new byte[] { 1, 2, 3 });
+
+    var resolver = new Resolver(null, repository, 2);
+    assertEquals(sources,
+        resolver.resolve("org.dep:dep:java-source:sources:1.0").join().get());
+    assertFalse(resolver.resolve("org.dep:dep:1.0").join().isPresent());
+  }
+}
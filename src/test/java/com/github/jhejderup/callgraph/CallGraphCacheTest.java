@@ -0,0 +1,83 @@
+package com.github.jhejderup.callgraph;
+
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.MethodReference;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Round-trips and evicts call graphs through the on-disk cache.
+ */
+public class CallGraphCacheTest extends TestCase {
+
+  private static MethodReference method(ClassLoaderReference loader,
+      String clazz, String name, String desc) {
+    return MethodReference.findOrCreate(loader, clazz, name, desc);
+  }
+
+  private static List<ResolvedCall> calls() {
+    var app = method(ClassLoaderReference.Application, "Lcom/example/App",
+        "main", "([Ljava/lang/String;)V");
+    var dep = method(ClassLoaderReference.Extension, "Lorg/dep/Util",
+        "parse", "(Ljava/lang/String;)I");
+    var jdk = method(ClassLoaderReference.Primordial, "Ljava/lang/Integer",
+        "parseInt", "(Ljava/lang/String;)I");
+    return Arrays.asList(new ResolvedCall(app, dep), new ResolvedCall(dep, jdk));
+  }
+
+  public void testRoundTrip() throws Exception {
+    Path dir = Files.createTempDirectory("cgcache");
+    var cache = new CallGraphCache(dir, Long.MAX_VALUE);
+    var expected = calls();
+
+    assertFalse(cache.load("abc").isPresent());
+    cache.store("abc", expected);
+
+    var actual = cache.load("abc").get();
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i).source, actual.get(i).source);
+      assertSame(expected.get(i).target, actual.get(i).target);
+    }
+  }
+
+  public void testEvictsLeastRecentlyUsed() throws Exception {
+    Path dir = Files.createTempDirectory("cgcache");
+    var unbounded = new CallGraphCache(dir, Long.MAX_VALUE);
+    var keys = Arrays.asList("first", "middle", "last");
+    for (int i = 0; i < keys.size(); i++) {
+      unbounded.store(keys.get(i), calls());
+      Files.setLastModifiedTime(dir.resolve(keys.get(i) + ".cg"),
+          FileTime.fromMillis(1000L * (i + 1)));
+    }
+    assertTrue(unbounded.load("first").isPresent());
+
+    // re-storing the last entry evicts down to two entries of the same size
+    var bounded = new CallGraphCache(dir,
+        2 * Files.size(dir.resolve("first.cg")));
+    bounded.store("last", calls());
+    assertTrue(Files.exists(dir.resolve("first.cg")));
+    assertFalse(Files.exists(dir.resolve("middle.cg")));
+    assertTrue(Files.exists(dir.resolve("last.cg")));
+  }
+
+  public void testKeyDependsOnContent() throws Exception {
+    Path dir = Files.createTempDirectory("cgkey");
+    var jar = dir.resolve("dep.jar");
+    Files.write(jar, new byte[] { 1, 2, 3 });
+
+    var first = CallGraphCache.key(dir.toString(), jar.toString(),
+        new ByteArrayInputStream(new byte[0]));
+    Files.write(jar, new byte[] { 1, 2, 4 });
+    var second = CallGraphCache.key(dir.toString(), jar.toString(),
+        new ByteArrayInputStream(new byte[0]));
+
+    assertFalse(first.equals(second));
+  }
+}
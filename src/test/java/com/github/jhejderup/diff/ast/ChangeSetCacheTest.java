@@ -0,0 +1,55 @@
+package com.github.jhejderup.diff.ast;
+
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.OperationSummary;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Round-trips the changed methods of a bump through the on-disk cache.
+ */
+public class ChangeSetCacheTest extends TestCase {
+
+  public void testRoundTrip() throws Exception {
+    var modified = JVMIdentifier.of("Lorg/dep/Util", "parse", "(Ljava/lang/String;)I");
+    var deleted = JVMIdentifier.of("Lorg/dep/Util", "<init>", "()V");
+
+    Map<JVMIdentifier, List<Map.Entry<MethodStats, List<OperationSummary>>>> file = new HashMap<>();
+    file.put(modified, Collections.singletonList(
+        new AbstractMap.SimpleImmutableEntry<>(
+            new MethodStats(Optional.of(modified), Optional.of(modified)),
+            Arrays.asList(
+                new OperationSummary("Update", "Literal", "Return", 12,
+                    "Return", 14),
+                new OperationSummary("Insert", "Invocation", "Method",
+                    OperationSummary.NO_LINE, null, OperationSummary.NO_LINE)))));
+    file.put(deleted, Collections.singletonList(
+        new AbstractMap.SimpleImmutableEntry<>(
+            new MethodStats(Optional.of(deleted), Optional.empty()),
+            Collections.singletonList(
+                new OperationSummary("Delete", "Constructor", "Constructor", 3,
+                    null, OperationSummary.NO_LINE)))));
+    var expected = Collections.singletonList(file);
+
+    var cache = new ChangeSetCache(Files.createTempDirectory("changes"),
+        Long.MAX_VALUE);
+    assertFalse(cache.load("abc").isPresent());
+    cache.store("abc", expected);
+
+    var actual = cache.load("abc").get();
+    assertEquals(expected, actual);
+    assertSame(deleted, actual.get(0).keySet().stream()
+        .filter(deleted::equals).findFirst().get());
+    assertEquals("Update Literal in Return (L12) to Return (L14)",
+        actual.get(0).get(modified).get(0).getValue().get(0).toString());
+  }
+}
@@ -0,0 +1,103 @@
+package com.github.jhejderup.diff.ast;
+
+import com.github.jhejderup.MethodStats;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.file.FileDiff;
+import gumtree.spoon.diff.operations.DeleteOperation;
+import gumtree.spoon.diff.operations.MoveOperation;
+import gumtree.spoon.diff.operations.Operation;
+import gumtree.spoon.diff.operations.UpdateOperation;
+import junit.framework.TestCase;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Groups the edit script of a whole type by the outermost method of every
+ * operation.
+ */
+public class MethodDiffTest extends TestCase {
+
+  private static Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> changed(
+      String oldSource, String newSource) {
+    var comperator = new AstComperator();
+    var src = comperator.getCtType(oldSource);
+    var dst = newSource == null ? null : comperator.getCtType(newSource);
+    var fd = new FileDiff(Optional.of(Paths.get("/old/p/A.java")),
+        newSource == null ?
+            Optional.empty() :
+            Optional.of(Paths.get("/new/p/A.java")),
+        newSource == null ?
+            FileDiff.Change.DELETION :
+            FileDiff.Change.MODIFICATION);
+    return new MethodDiff(comperator.compare(src, dst), fd)
+        .getChangedMethods();
+  }
+
+  private static void assertChange(
+      Map<JVMIdentifier, List<Map.Entry<MethodStats, List<Operation>>>> changed,
+      JVMIdentifier method, Optional<JVMIdentifier> dst,
+      Class<? extends Operation> kind) {
+    var pairs = changed.get(method);
+    assertNotNull(method.toString(), pairs);
+    assertEquals(1, pairs.size());
+    assertEquals(Optional.of(method), pairs.get(0).getKey().srcMethod);
+    assertEquals(dst, pairs.get(0).getKey().dstMethod);
+    for (var op : pairs.get(0).getValue()) {
+      assertTrue(op.toString(), kind.isInstance(op));
+    }
+  }
+
+  public void testChangeInLambdaAndAnonymousClass() {
+    var changed = changed("package p; class A {"
+            + " int f() { Runnable r = () -> System.out.println(1); return 0; }"
+            + " Object g() { return new Object() {"
+            + " public String toString() { return \"a\"; } }; }"
+            + " int h() { return 3; } }",
+        "package p; class A {"
+            + " int f() { Runnable r = () -> System.out.println(2); return 0; }"
+            + " Object g() { return new Object() {"
+            + " public String toString() { return \"b\"; } }; }"
+            + " int h() { return 3; } }");
+
+    var f = JVMIdentifier.of("Lp/A", "f", "()I");
+    var g = JVMIdentifier.of("Lp/A", "g", "()Ljava/lang/Object;");
+    assertEquals(2, changed.size());
+    assertChange(changed, f, Optional.of(f), UpdateOperation.class);
+    assertChange(changed, g, Optional.of(g), UpdateOperation.class);
+  }
+
+  public void testMoveBetweenMethods() {
+    var changed = changed("package p; class A {"
+            + " void a() { x(1); y(2); } void b() { z(3); }"
+            + " void x(int i) {} void y(int i) {} void z(int i) {} }",
+        "package p; class A {"
+            + " void a() { x(1); } void b() { z(3); y(2); }"
+            + " void x(int i) {} void y(int i) {} void z(int i) {} }");
+
+    // a move is a change of the method it moves to
+    var b = JVMIdentifier.of("Lp/A", "b", "()V");
+    assertEquals(1, changed.size());
+    assertChange(changed, b, Optional.of(b), MoveOperation.class);
+  }
+
+  public void testFieldInitializerIsNotAMethod() {
+    var changed = changed(
+        "package p; class A { int x = 1; int f() { return 0; } }",
+        "package p; class A { int x = 2; int f() { return 0; } }");
+    assertTrue(changed.isEmpty());
+  }
+
+  public void testFileRemoval() {
+    var changed = changed(
+        "package p; class A { int f() { return 0; } A() { f(); } }", null);
+
+    assertEquals(2, changed.size());
+    assertChange(changed, JVMIdentifier.of("Lp/A", "f", "()I"),
+        Optional.empty(), DeleteOperation.class);
+    assertChange(changed, JVMIdentifier.of("Lp/A", "<init>", "()Lp/A;"),
+        Optional.empty(), DeleteOperation.class);
+  }
+}
@@ -0,0 +1,51 @@
+package com.github.jhejderup.diff.ast;
+
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.file.FileDiff;
+import junit.framework.TestCase;
+import spoon.reflect.declaration.CtMethod;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Diffs two versions of a small class method by method.
+ */
+public class MethodIndexTest extends TestCase {
+
+  private static final String OLD = "package p; public class A {\n"
+      + "  int same(int x) { return x + 1; }\n"
+      + "  int changed(int x) { return x + 1; }\n"
+      + "  void gone() { System.out.println(1); }\n" + "}";
+  private static final String NEW = "package p; public class A {\n"
+      + "  // a comment\n" + "  int same(int x) {\n    return x + 1;\n  }\n"
+      + "  int changed(int x) { return x + 2; }\n"
+      + "  void added() { System.out.println(2); }\n" + "}";
+
+  public void testDiff() {
+    var comperator = new AstComperator();
+    var src = MethodIndex.of(comperator.getCtType(OLD)).get();
+    var dst = MethodIndex.of(comperator.getCtType(NEW)).get();
+    assertEquals(4, src.size()); // with the implicit constructor
+
+    var fd = new FileDiff(Optional.of(Paths.get("/old/p/A.java")),
+        Optional.of(Paths.get("/new/p/A.java")), FileDiff.Change.MODIFICATION);
+    var changed = src.diff(dst, comperator, fd);
+
+    var gone = JVMIdentifier.of("Lp/A", "gone", "()V");
+    assertEquals(2, changed.size());
+    assertTrue(changed.containsKey(JVMIdentifier.of("Lp/A", "changed", "(I)I")));
+    assertTrue(changed.containsKey(gone));
+    var deletion = changed.get(gone).get(0);
+    assertFalse(deletion.getKey().dstMethod.isPresent());
+    var node = deletion.getValue().get(0).getNode();
+    assertTrue(node instanceof CtMethod);
+    assertEquals("gone", ((CtMethod<?>) node).getSimpleName());
+  }
+
+  public void testFieldLambdaIsNotIndexed() {
+    var type = new AstComperator().getCtType(
+        "package p; public class B { Runnable r = () -> {}; }");
+    assertFalse(MethodIndex.of(type).isPresent());
+  }
+}
@@ -0,0 +1,38 @@
+package com.github.jhejderup.diff.ast;
+
+import junit.framework.TestCase;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Releases the types of one file of a model built from two.
+ */
+public class SpoonModelTest extends TestCase {
+
+  public void testRelease() throws Exception {
+    var dir = Files.createDirectories(
+        Files.createTempDirectory("model").resolve("p"));
+    var a = Files.write(dir.resolve("A.java"),
+        "package p; public class A { int f() { return 1; } }".getBytes());
+    var b = Files.write(dir.resolve("B.java"),
+        "package p; public class B { int g() { return 2; } }".getBytes());
+    var model = new AstComperator().buildModel(Arrays.asList(a, b));
+    assertEquals(2, model.size());
+
+    var released = new WeakReference<>(model.getType(a).get());
+    model.release(a);
+    assertFalse(model.getType(a).isPresent());
+    assertFalse(model.getType("p.A").isPresent());
+    assertEquals("p.B", model.getType(b).get().getQualifiedName());
+    assertEquals(1, model.size());
+
+    // nothing in the model keeps the type reachable
+    for (int i = 0; i < 10 && released.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(released.get());
+  }
+}
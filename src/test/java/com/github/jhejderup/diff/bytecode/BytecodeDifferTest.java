@@ -0,0 +1,80 @@
+package com.github.jhejderup.diff.bytecode;
+
+import com.github.jhejderup.Fixtures;
+import com.github.jhejderup.artifact.JVMIdentifier;
+import com.github.jhejderup.diff.file.FileDiff;
+import junit.framework.TestCase;
+
+import javax.tools.ToolProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Compares jars compiled from two versions of a few small classes.
+ */
+public class BytecodeDifferTest extends TestCase {
+
+  private static final String SAME_OLD =
+      "package p; public class Same { int f(int x) { return x + 1; } }";
+  private static final String SAME_NEW = "package p;\n\n/** doc */\n"
+      + "public class Same {\n  // comment\n  int f(int x) {\n    return x + 1;\n  }\n}";
+
+  private static final String BODY_OLD = "package p; public class Body {"
+      + " int f(int x) { return x + 1; } int g() { return 0; } }";
+  private static final String BODY_NEW = "package p; public class Body {"
+      + " int f(int x) { return x + 2; } int g() { return 0; } }";
+
+  private static final String LAMBDA_OLD = "package p; public class Lambda {"
+      + " Runnable m() { return () -> System.out.println(\"a\"); } }";
+  private static final String LAMBDA_NEW = "package p; public class Lambda {"
+      + " Runnable m() { return () -> System.out.println(\"b\"); } }";
+
+  private static Path jar(String same, String body, String lambda)
+      throws Exception {
+    var dir = Files.createTempDirectory("bytecode");
+    var src = Files.createDirectories(dir.resolve("src/p"));
+    Files.write(src.resolve("Same.java"), same.getBytes());
+    Files.write(src.resolve("Body.java"), body.getBytes());
+    Files.write(src.resolve("Lambda.java"), lambda.getBytes());
+
+    var classes = Files.createDirectories(dir.resolve("classes"));
+    var result = ToolProvider.getSystemJavaCompiler()
+        .run(null, null, null, "-g", "-nowarn", "-source", "8", "-target", "8",
+            "-d", classes.toString(),
+            src.resolve("Same.java").toString(),
+            src.resolve("Body.java").toString(),
+            src.resolve("Lambda.java").toString());
+    assertEquals(0, result);
+
+    return Fixtures.jar(dir.resolve("p.jar"), classes);
+  }
+
+  private static FileDiff modified(Path root, String file) {
+    return new FileDiff(Optional.of(root.resolve(file)),
+        Optional.of(root.resolve(file)), FileDiff.Change.MODIFICATION);
+  }
+
+  private static JVMIdentifier method(String clazz, String name,
+      String desc) {
+    return JVMIdentifier.of("Lp/" + clazz, name, desc);
+  }
+
+  public void testDiff() throws Exception {
+    var diff = BytecodeDiffer
+        .diff(jar(SAME_OLD, BODY_OLD, LAMBDA_OLD),
+            jar(SAME_NEW, BODY_NEW, LAMBDA_NEW)).get();
+    var root = Files.createTempDirectory("sources");
+
+    assertTrue(diff.isUnchanged(modified(root, "p/Same.java"), root));
+    assertFalse(diff.isUnchanged(modified(root, "p/Body.java"), root));
+    assertFalse(diff.isUnchanged(modified(root, "p/Lambda.java"), root));
+
+    assertTrue(diff.getChangedMethods().contains(method("Body", "f", "(I)I")));
+    assertFalse(diff.isUnchanged(method("Body", "f", "(I)I")));
+    assertTrue(diff.isUnchanged(method("Body", "g", "()I")));
+
+    // the lambda changed, but not the method it is written in
+    assertFalse(diff.isUnchanged(method("Lambda", "m", "()Ljava/lang/Runnable;")));
+  }
+}
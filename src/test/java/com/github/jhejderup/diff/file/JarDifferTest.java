@@ -0,0 +1,61 @@
+package com.github.jhejderup.diff.file;
+
+import com.github.jhejderup.Fixtures;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Classifies the entries of two small jars.
+ */
+public class JarDifferTest extends TestCase {
+
+  private static Path jar(Map<String, String> entries) throws Exception {
+    var withFolder = new LinkedHashMap<String, String>();
+    withFolder.put("a/", "");
+    withFolder.putAll(entries);
+    return Fixtures.jar(Files.createTempFile("sources", ".jar"), withFolder);
+  }
+
+  public void testDiff() throws Exception {
+    var left = new TreeMap<String, String>();
+    left.put("a/Same.java", "class Same {}");
+    left.put("a/Changed.java", "class Changed {}");
+    left.put("a/Moved.java", "class Moved {}");
+    left.put("a/Gone.java", "class Gone {}");
+    var right = new TreeMap<String, String>();
+    right.put("a/Same.java", "class Same {}");
+    right.put("a/Changed.java", "class Changed { int x; }");
+    right.put("b/Moved.java", "class Moved {}");
+    right.put("a/New.java", "class New {}");
+
+    var leftRoot = Paths.get("/old");
+    var rightRoot = Paths.get("/new");
+    var diffs = JarDiffer.diff(jar(left), jar(right), leftRoot, rightRoot)
+        .map(FileDiff::toString).collect(Collectors.toList());
+
+    assertEquals(4, diffs.size());
+    assertTrue(diffs.contains(new FileDiff(
+        Optional.of(leftRoot.resolve("a/Changed.java")),
+        Optional.of(rightRoot.resolve("a/Changed.java")),
+        FileDiff.Change.MODIFICATION).toString()));
+    assertTrue(diffs.contains(new FileDiff(
+        Optional.of(leftRoot.resolve("a/Moved.java")),
+        Optional.of(rightRoot.resolve("b/Moved.java")),
+        FileDiff.Change.RENAME, 100).toString()));
+    assertTrue(diffs.contains(new FileDiff(
+        Optional.of(leftRoot.resolve("a/Gone.java")),
+        Optional.empty(), FileDiff.Change.DELETION).toString()));
+    assertTrue(diffs.contains(
+        new FileDiff(Optional.empty(),
+            Optional.of(rightRoot.resolve("a/New.java")),
+            FileDiff.Change.ADDITION).toString()));
+  }
+}
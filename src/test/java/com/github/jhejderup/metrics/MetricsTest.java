@@ -0,0 +1,60 @@
+package com.github.jhejderup.metrics;
+
+import junit.framework.TestCase;
+
+/**
+ * Measures a stage with a file stage on another thread and renders it.
+ */
+public class MetricsTest extends TestCase {
+
+  public void testStages() throws Exception {
+    var metrics = new Metrics("org.dep:dep:1.0 -> \"2.0\"");
+    try (var stage = metrics.stage("diff")) {
+      var worker = new Thread(() -> {
+        try (var file = stage.file("/a/Foo.java")) {
+          file.count("operations", 3);
+          var garbage = new long[1024];
+          file.count("size", garbage.length);
+        }
+      });
+      worker.start();
+      worker.join();
+      stage.add("files", 1).add("files", 1);
+    }
+
+    var stages = metrics.getStages();
+    assertEquals(1, stages.size());
+    var diff = stages.get(0);
+    assertEquals(Long.valueOf(2), diff.getCounts().get("files"));
+    assertTrue(diff.getWallNanos() >= 0);
+    assertEquals(1, diff.getFiles().size());
+    assertEquals(Long.valueOf(3),
+        diff.getFiles().get(0).getCounts().get("operations"));
+
+    var json = metrics.toJson();
+    assertTrue(json, json.contains("\"run\": \"org.dep:dep:1.0 -> \\\"2.0\\\"\""));
+    assertTrue(json, json.contains("{\"name\": \"/a/Foo.java\""));
+    assertTrue(json, json.contains("\"counts\": {\"files\": 2}"));
+  }
+
+  public void testBranchMeasuresItsOwnThreads() throws Exception {
+    var metrics = new Metrics("branches");
+    var other = new Thread(() -> {
+      var garbage = new byte[64][];
+      for (int i = 0; i < garbage.length; i++) {
+        garbage[i] = new byte[1024 * 1024];
+      }
+    });
+    try (var stage = metrics.branch("diff")) {
+      other.start();
+      other.join();
+    }
+
+    var diff = metrics.getStages().get(0);
+    assertEquals(-1, diff.getPeakHeapBytes());
+    if (diff.getAllocatedBytes() >= 0) {
+      assertTrue(diff.getAllocatedBytes() < 64L * 1024 * 1024);
+    }
+    assertFalse(metrics.toJson().contains("peakHeapBytes"));
+  }
+}